@@ -0,0 +1,47 @@
+package org.example.benchmark;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Non-web Spring context holding the real services, repositories and listeners on top of an
+ * embedded H2 database. Controllers and the HTTP security chain are left out; the services are what we measure.
+ */
+@SpringBootApplication
+@ComponentScan(basePackages = "org.example",
+        excludeFilters = {
+                @ComponentScan.Filter(type = FilterType.ANNOTATION, classes = {Controller.class, RestController.class}),
+                @ComponentScan.Filter(type = FilterType.REGEX, pattern = "org\\.example\\.config\\.SecurityConfig"),
+                @ComponentScan.Filter(type = FilterType.REGEX, pattern = "org\\.example\\.domain\\.Main"),
+                @ComponentScan.Filter(type = FilterType.REGEX, pattern = "org\\.example\\.loadtest\\..*")
+        })
+@EntityScan("org.example.domain")
+@EnableJpaRepositories("org.example.repository")
+public class BenchmarkApplication {
+
+    // Same encoder as SecurityConfig, so createUser pays the real hashing cost
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return new BCryptPasswordEncoder();
+    }
+
+    public static ConfigurableApplicationContext start(String... extraArgs) {
+        SpringApplication app = new SpringApplication(BenchmarkApplication.class);
+        app.setWebApplicationType(WebApplicationType.NONE);
+        String[] args = new String[extraArgs.length + 1];
+        args[0] = "--spring.config.name=application,benchmark";
+        System.arraycopy(extraArgs, 0, args, 1, extraArgs.length);
+        return app.run(args);
+    }
+}
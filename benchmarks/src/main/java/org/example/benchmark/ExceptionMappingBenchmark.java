@@ -0,0 +1,71 @@
+package org.example.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.dto.ErrorResponse;
+import org.example.exception.ConflictException;
+import org.example.exception.GlobalExceptionHandler;
+import org.example.exception.NotFoundException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exception to ErrorResponse mapping in GlobalExceptionHandler. Construction of the exception is
+ * part of the measurement, as it is on the request path; {@code fieldErrors} sizes the validation case.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExceptionMappingBenchmark {
+
+    @Param({"1", "10", "50"})
+    public int fieldErrors;
+
+    private GlobalExceptionHandler handler;
+    private WebRequest request;
+    private MethodParameter parameter;
+    private BeanPropertyBindingResult bindingResult;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        handler = new GlobalExceptionHandler(new SimpleMeterRegistry());
+        request = new ServletWebRequest(new MockHttpServletRequest("GET", "/api/tasks/42"));
+        parameter = new MethodParameter(ExceptionMappingBenchmark.class.getDeclaredMethod("setUp"), -1);
+
+        bindingResult = new BeanPropertyBindingResult(new Object(), "task");
+        for (int i = 0; i < fieldErrors; i++) {
+            bindingResult.addError(new org.springframework.validation.FieldError(
+                    "task", "field" + i, "bad-value-" + i, false, null, null, "must not be blank"));
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> notFound() {
+        return handler.handleNotFound(new NotFoundException("Task not found!"), request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> conflict() {
+        return handler.handleConflict(new ConflictException("Email already in use"), request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> validation() {
+        return handler.handleValidation(new MethodArgumentNotValidException(parameter, bindingResult), request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> internalError() {
+        return handler.handleAll(new IllegalStateException("boom"), request);
+    }
+}
@@ -0,0 +1,104 @@
+package org.example.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.example.domain.Priority;
+import org.example.domain.Role;
+import org.example.domain.Task;
+import org.example.domain.TaskStatus;
+import org.example.domain.User;
+import org.example.dto.ErrorResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the response types, measured per list of {@code size} elements.
+ * Uses a mapper configured like Spring Boot's default (JavaTimeModule, ISO dates).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"1", "100", "1000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<Task> tasks;
+    private List<User> users;
+    private List<ErrorResponse> errors;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        Role role = new Role();
+        role.setId(1L);
+        role.setName("ROLE_USER");
+
+        tasks = new ArrayList<>(size);
+        users = new ArrayList<>(size);
+        errors = new ArrayList<>(size);
+        LocalDateTime now = LocalDateTime.now();
+        for (long i = 0; i < size; i++) {
+            User user = User.builder()
+                    .id(i)
+                    .userName("user-" + i)
+                    .email("user-" + i + "@bench.example")
+                    .roles(Set.of(role))
+                    .build();
+            users.add(user);
+            tasks.add(Task.builder()
+                    .id(i)
+                    .title("Task number " + i)
+                    .taskStatus(TaskStatus.values()[(int) (i % TaskStatus.values().length)])
+                    .taskPriority(Priority.values()[(int) (i % Priority.values().length)])
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .deadline(now.plusDays(i % 30))
+                    .assignedTo(user)
+                    .build());
+            errors.add(ErrorResponse.builder()
+                    .timestamp(Instant.now())
+                    .status(400)
+                    .error("Bad Request")
+                    .message("Validation failed")
+                    .path("/api/tasks/" + i)
+                    .traceId("trace-" + i)
+                    .service("TaskFodge")
+                    .errors(List.of(ErrorResponse.FieldError.builder()
+                            .field("title")
+                            .rejectedValue("")
+                            .message("must not be blank")
+                            .build()))
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeTasks() throws Exception {
+        return objectMapper.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public byte[] serializeUsers() throws Exception {
+        return objectMapper.writeValueAsBytes(users);
+    }
+
+    @Benchmark
+    public byte[] serializeErrorResponses() throws Exception {
+        return objectMapper.writeValueAsBytes(errors);
+    }
+}
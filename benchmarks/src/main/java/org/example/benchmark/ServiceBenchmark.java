@@ -0,0 +1,110 @@
+package org.example.benchmark;
+
+import org.example.domain.Priority;
+import org.example.domain.Task;
+import org.example.domain.TaskStatus;
+import org.example.domain.User;
+import org.example.repository.TaskRepository;
+import org.example.repository.UserRepository;
+import org.example.service.Implementation.TaskService;
+import org.example.service.Implementation.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Create, update and read through TaskService / UserService against H2.
+ * {@code rows} is the number of tasks already in the table when the measurement starts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+
+    @Param({"1000", "10000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private UserService userService;
+    private List<Long> taskIds;
+    private User assignee;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkApplication.start();
+        taskService = context.getBean(TaskService.class);
+        userService = context.getBean(UserService.class);
+
+        assignee = userService.createUser(newUser("seed"));
+        List<Task> seed = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            seed.add(newTask("seed-" + i));
+        }
+        taskIds = taskService.createTasks(seed).stream().map(Task::getId).toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.getBean(TaskRepository.class).deleteAllInBatch();
+        context.getBean(UserRepository.class).deleteAllInBatch();
+        context.close();
+    }
+
+    @Benchmark
+    public Task createTask() throws Exception {
+        return taskService.createTask(newTask("bench-" + sequence.incrementAndGet()));
+    }
+
+    @Benchmark
+    public Task updateTask() {
+        Task changes = Task.builder()
+                .title("updated-" + sequence.incrementAndGet())
+                .taskStatus(TaskStatus.IN_PROGRESS)
+                .taskPriority(Priority.HIGH)
+                .build();
+        return taskService.updateTask(randomTaskId(), changes);
+    }
+
+    @Benchmark
+    public Task readTask() {
+        return taskService.getTaskByIdOrThrow(randomTaskId());
+    }
+
+    @Benchmark
+    public User createUser() {
+        return userService.createUser(newUser("bench-" + sequence.incrementAndGet()));
+    }
+
+    private Long randomTaskId() {
+        return taskIds.get(ThreadLocalRandom.current().nextInt(taskIds.size()));
+    }
+
+    private Task newTask(String title) {
+        return Task.builder()
+                .title(title)
+                .taskStatus(TaskStatus.PENDING)
+                .taskPriority(Priority.MEDIUM)
+                .deadline(LocalDateTime.now().plusDays(ThreadLocalRandom.current().nextInt(1, 30)))
+                .assignedTo(assignee)
+                .build();
+    }
+
+    private static User newUser(String name) {
+        return User.builder()
+                .userName(name)
+                .email(name + "@bench.example")
+                .password("benchmark-password")
+                .build();
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and outcome counters for one endpoint. Latencies are recorded in microseconds,
+ * measured from the request's scheduled start so queueing in the generator or server is included.
+ */
+public class EndpointStats {
+
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final String name;
+    private final Histogram histogram = new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+
+    public EndpointStats(String name) {
+        this.name = name;
+    }
+
+    public void record(long latencyNanos, boolean success) {
+        histogram.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_TRACKABLE_MICROS));
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public long count() {
+        return histogram.getTotalCount();
+    }
+
+    public long errors() {
+        return errors.sum();
+    }
+
+    public double errorRate() {
+        return count() == 0 ? 0 : (double) errors() / count();
+    }
+
+    public double percentileMs(double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public double maxMs() {
+        return histogram.getMaxValue() / 1000.0;
+    }
+}
@@ -0,0 +1,323 @@
+package org.example.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Open-model HTTP load generator. Requests are scheduled at a constant arrival rate and each one runs on
+ * its own virtual thread, so a slow server never slows the schedule down. Latency is measured from the
+ * scheduled start time rather than the actual send time, which keeps coordinated omission out of the
+ * percentiles. Exits with status 1 when any endpoint breaks its p99, p99.9 or error-rate threshold.
+ */
+public class LoadGenerator {
+
+    private static final int SEED_CHUNK = 500;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadTestOptions options;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client;
+    private final String baseUrl;
+    private final String nonce = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLong sequence = new AtomicLong();
+    private final List<Long> taskIds = new ArrayList<>();
+    private String token;
+
+    private record Endpoint(String name, int weight, Supplier<HttpRequest> request) {
+    }
+
+    public LoadGenerator(LoadTestOptions options, String baseUrl) {
+        this.options = options;
+        this.baseUrl = baseUrl;
+        this.client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = new LoadTestOptions(args);
+        ServletWebServerApplicationContext context = null;
+        String baseUrl = options.baseUrl();
+        if (baseUrl == null) {
+            context = LoadTestApplication.start();
+            baseUrl = "http://localhost:" + context.getWebServer().getPort();
+        }
+
+        boolean passed;
+        try {
+            LoadGenerator generator = new LoadGenerator(options, baseUrl);
+            generator.seed();
+            passed = generator.run();
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    // Registers a load-test user, logs in and creates the dataset through the public API
+    void seed() throws Exception {
+        String email = "loadtest-" + nonce + "@loadtest.example";
+        expectOk(post("/api/users", Map.of("userName", "loadtest-" + nonce, "email", email, "password", nonce)));
+        token = send(post("/api/auth/login", Map.of("email", email, "password", nonce))).get("accessToken").asText();
+
+        List<Future<Void>> roles = new ArrayList<>();
+        List<Future<Void>> users = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < options.seedRoles(); i++) {
+                String name = "LOADTEST_" + nonce + "_" + i;
+                roles.add(executor.submit(() -> expectOk(post("/api/roles", Map.of("name", name)))));
+            }
+            for (int i = 1; i < options.seedUsers(); i++) {
+                String userName = "loadtest-" + nonce + "-" + i;
+                users.add(executor.submit(() -> expectOk(post("/api/users",
+                        Map.of("userName", userName, "email", userName + "@loadtest.example", "password", nonce)))));
+            }
+        }
+        int rolesCreated = awaitAll("role", roles);
+        // the load-test user registered above is the first one
+        int usersCreated = 1 + awaitAll("user", users);
+
+        for (int created = 0; created < options.seedTasks(); created += SEED_CHUNK) {
+            List<Map<String, Object>> chunk = new ArrayList<>();
+            for (int i = created; i < Math.min(created + SEED_CHUNK, options.seedTasks()); i++) {
+                chunk.add(newTask());
+            }
+            for (JsonNode task : send(post("/api/tasks/bulk", chunk))) {
+                taskIds.add(task.get("id").asLong());
+            }
+        }
+        System.out.printf("Seeded %d tasks, %d users, %d roles against %s%n",
+                taskIds.size(), usersCreated, rolesCreated, baseUrl);
+    }
+
+    // Waits for the seeding requests and fails the run if any of them did; returns how many succeeded
+    private static int awaitAll(String kind, List<Future<Void>> requests) throws InterruptedException {
+        int failed = 0;
+        Throwable firstFailure = null;
+        for (Future<Void> request : requests) {
+            try {
+                request.get();
+            } catch (ExecutionException ex) {
+                failed++;
+                if (firstFailure == null) {
+                    firstFailure = ex.getCause();
+                }
+            }
+        }
+        if (failed > 0) {
+            throw new IllegalStateException("Seeding failed for " + failed + " of " + requests.size() + " "
+                    + kind + " requests", firstFailure);
+        }
+        return requests.size();
+    }
+
+    boolean run() throws Exception {
+        List<Endpoint> endpoints = endpoints();
+
+        System.out.printf("Warmup %s at %d req/s%n", options.warmup(), options.rate());
+        runPhase(endpoints, options.warmup());
+
+        System.out.printf("Measuring %s at %d req/s%n", options.duration(), options.rate());
+        Map<String, EndpointStats> stats = runPhase(endpoints, options.duration());
+
+        return report(stats);
+    }
+
+    private List<Endpoint> endpoints() {
+        Map<String, Supplier<HttpRequest>> available = new LinkedHashMap<>();
+        available.put("tasks.get", () -> get("/api/tasks/" + taskIds.get(ThreadLocalRandom.current().nextInt(taskIds.size()))));
+        available.put("tasks.list", () -> get("/api/tasks"));
+        available.put("tasks.create", () -> post("/api/tasks", newTask()));
+        available.put("tasks.deadline-soon", () -> get("/api/tasks/deadline-soon"));
+        available.put("users.list", () -> get("/api/users"));
+        available.put("roles.list", () -> get("/api/roles"));
+
+        List<Endpoint> endpoints = new ArrayList<>();
+        options.mix().forEach((name, weight) -> {
+            Supplier<HttpRequest> request = available.get(name);
+            if (request == null) {
+                throw new IllegalArgumentException("Unknown endpoint " + name + ", expected one of " + available.keySet());
+            }
+            endpoints.add(new Endpoint(name, weight, request));
+        });
+        return endpoints;
+    }
+
+    // Fires requests on a fixed schedule for the given time and waits for the stragglers
+    private Map<String, EndpointStats> runPhase(List<Endpoint> endpoints, Duration length) throws InterruptedException {
+        Map<String, EndpointStats> stats = new LinkedHashMap<>();
+        endpoints.forEach(e -> stats.put(e.name(), new EndpointStats(e.name())));
+        int totalWeight = endpoints.stream().mapToInt(Endpoint::weight).sum();
+
+        long interval = TimeUnit.SECONDS.toNanos(1) / options.rate();
+        long start = System.nanoTime();
+        long end = start + length.toNanos();
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        for (long n = 0; ; n++) {
+            long scheduled = start + n * interval;
+            if (scheduled >= end) {
+                break;
+            }
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Endpoint endpoint = pick(endpoints, totalWeight);
+            EndpointStats endpointStats = stats.get(endpoint.name());
+            executor.execute(() -> fire(endpoint, endpointStats, scheduled));
+        }
+        executor.shutdown();
+        if (!executor.awaitTermination(options.drainTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+            System.out.println("WARNING: requests still in flight after " + options.drainTimeout());
+        }
+        return stats;
+    }
+
+    private void fire(Endpoint endpoint, EndpointStats stats, long scheduled) {
+        boolean success;
+        try {
+            HttpResponse<Void> response = client.send(endpoint.request().get(), HttpResponse.BodyHandlers.discarding());
+            success = response.statusCode() < 400;
+        } catch (IOException | InterruptedException ex) {
+            success = false;
+        }
+        stats.record(System.nanoTime() - scheduled, success);
+    }
+
+    private static Endpoint pick(List<Endpoint> endpoints, int totalWeight) {
+        int r = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Endpoint endpoint : endpoints) {
+            r -= endpoint.weight();
+            if (r < 0) {
+                return endpoint;
+            }
+        }
+        return endpoints.get(endpoints.size() - 1);
+    }
+
+    private boolean report(Map<String, EndpointStats> stats) throws IOException {
+        double seconds = options.duration().toMillis() / 1000.0;
+        List<String> failures = new ArrayList<>();
+        List<Map<String, Object>> rows = new ArrayList<>();
+
+        System.out.printf("%-22s %8s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (EndpointStats s : stats.values()) {
+            double p99 = s.percentileMs(99.0);
+            double p999 = s.percentileMs(99.9);
+            System.out.printf("%-22s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    s.name(), s.count(), s.errors(), s.count() / seconds, s.percentileMs(50.0), p99, p999, s.maxMs());
+
+            if (p99 > options.maxP99Ms(s.name())) {
+                failures.add(String.format("%s p99 %.2f ms > %.2f ms", s.name(), p99, options.maxP99Ms(s.name())));
+            }
+            if (p999 > options.maxP999Ms(s.name())) {
+                failures.add(String.format("%s p99.9 %.2f ms > %.2f ms", s.name(), p999, options.maxP999Ms(s.name())));
+            }
+            if (s.errorRate() > options.maxErrorRate(s.name())) {
+                failures.add(String.format("%s error rate %.4f > %.4f", s.name(), s.errorRate(), options.maxErrorRate(s.name())));
+            }
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("endpoint", s.name());
+            row.put("count", s.count());
+            row.put("errors", s.errors());
+            row.put("throughput", s.count() / seconds);
+            row.put("p50Ms", s.percentileMs(50.0));
+            row.put("p99Ms", p99);
+            row.put("p999Ms", p999);
+            row.put("maxMs", s.maxMs());
+            rows.add(row);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("rate", options.rate());
+        result.put("durationSeconds", seconds);
+        result.put("seedTasks", options.seedTasks());
+        result.put("endpoints", rows);
+        result.put("failures", failures);
+        Path reportPath = Path.of(options.report());
+        Files.createDirectories(reportPath.toAbsolutePath().getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(reportPath.toFile(), result);
+        System.out.println("Report written to " + reportPath.toAbsolutePath());
+
+        failures.forEach(f -> System.out.println("THRESHOLD FAILED: " + f));
+        return failures.isEmpty();
+    }
+
+    private Map<String, Object> newTask() {
+        Map<String, Object> task = new LinkedHashMap<>();
+        task.put("title", "loadtest-" + nonce + "-" + sequence.incrementAndGet());
+        task.put("taskStatus", "PENDING");
+        task.put("taskPriority", "MEDIUM");
+        // spread over two weeks so roughly one in fourteen lands in the deadline-soon window; at least a minute
+        // ahead so no deadline has passed by the time the server validates it
+        task.put("deadline", LocalDateTime.now().plusMinutes(1 + ThreadLocalRandom.current().nextInt(14 * 24 * 60)).toString());
+        return task;
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest post(String path, Object body) {
+        try {
+            return request(path)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private HttpRequest.Builder request(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private JsonNode send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException(request.method() + " " + request.uri() + " returned " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private Void expectOk(HttpRequest request) throws IOException, InterruptedException {
+        send(request);
+        return null;
+    }
+}
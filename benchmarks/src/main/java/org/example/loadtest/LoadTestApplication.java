@@ -0,0 +1,29 @@
+package org.example.loadtest;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * The full web application (controllers, security chain, services) on embedded H2 and a random port,
+ * used when the load test is not pointed at an already running instance.
+ */
+@SpringBootApplication
+@ComponentScan(basePackages = "org.example",
+        excludeFilters = {
+                @ComponentScan.Filter(type = FilterType.REGEX, pattern = "org\\.example\\.benchmark\\..*"),
+                @ComponentScan.Filter(type = FilterType.REGEX, pattern = "org\\.example\\.domain\\.Main")
+        })
+@EntityScan("org.example.domain")
+@EnableJpaRepositories("org.example.repository")
+public class LoadTestApplication {
+
+    public static ServletWebServerApplicationContext start() {
+        return (ServletWebServerApplicationContext) SpringApplication.run(LoadTestApplication.class,
+                "--spring.config.name=application,benchmark", "--server.port=0");
+    }
+}
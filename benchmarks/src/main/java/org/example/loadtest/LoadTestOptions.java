@@ -0,0 +1,111 @@
+package org.example.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Command line options, given as {@code --name=value}. Anything not given falls back to the defaults below.
+ *
+ * <pre>
+ * --base-url=http://host:8080   test a running instance instead of starting one on H2
+ * --rate=200                    constant arrival rate, requests per second over all endpoints
+ * --warmup=PT10S --duration=PT60S
+ * --seed-tasks=2000 --seed-users=50 --seed-roles=10
+ * --mix=tasks.get:30,tasks.list:5,...  relative weight per endpoint
+ * --max-p99-ms=250 --max-p999-ms=1000 --max-error-rate=0.01
+ * --max-p99-ms.tasks.list=1000  per-endpoint override of any threshold
+ * --report=target/loadtest-result.json
+ * </pre>
+ */
+public class LoadTestOptions {
+
+    private static final Map<String, String> DEFAULTS = Map.ofEntries(
+            Map.entry("rate", "200"),
+            Map.entry("warmup", "PT10S"),
+            Map.entry("duration", "PT60S"),
+            Map.entry("drain-timeout", "PT30S"),
+            Map.entry("seed-tasks", "2000"),
+            Map.entry("seed-users", "50"),
+            Map.entry("seed-roles", "10"),
+            Map.entry("mix", "tasks.get:30,tasks.list:5,tasks.create:10,tasks.deadline-soon:25,users.list:15,roles.list:15"),
+            Map.entry("max-p99-ms", "250"),
+            Map.entry("max-p999-ms", "1000"),
+            Map.entry("max-error-rate", "0.01"),
+            Map.entry("report", "target/loadtest-result.json"));
+
+    private final Map<String, String> values = new HashMap<>(DEFAULTS);
+
+    public LoadTestOptions(String[] args) {
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            int eq = arg.indexOf('=');
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+    }
+
+    public String baseUrl() {
+        return values.get("base-url");
+    }
+
+    public int rate() {
+        return Integer.parseInt(values.get("rate"));
+    }
+
+    public Duration warmup() {
+        return Duration.parse(values.get("warmup"));
+    }
+
+    public Duration duration() {
+        return Duration.parse(values.get("duration"));
+    }
+
+    public Duration drainTimeout() {
+        return Duration.parse(values.get("drain-timeout"));
+    }
+
+    public int seedTasks() {
+        return Integer.parseInt(values.get("seed-tasks"));
+    }
+
+    public int seedUsers() {
+        return Integer.parseInt(values.get("seed-users"));
+    }
+
+    public int seedRoles() {
+        return Integer.parseInt(values.get("seed-roles"));
+    }
+
+    public String report() {
+        return values.get("report");
+    }
+
+    // endpoint name -> weight, in the order given
+    public Map<String, Integer> mix() {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String entry : values.get("mix").split(",")) {
+            String[] parts = entry.trim().split(":");
+            mix.put(parts[0], Integer.parseInt(parts[1]));
+        }
+        return mix;
+    }
+
+    public double maxP99Ms(String endpoint) {
+        return threshold("max-p99-ms", endpoint);
+    }
+
+    public double maxP999Ms(String endpoint) {
+        return threshold("max-p999-ms", endpoint);
+    }
+
+    public double maxErrorRate(String endpoint) {
+        return threshold("max-error-rate", endpoint);
+    }
+
+    private double threshold(String name, String endpoint) {
+        return Double.parseDouble(values.getOrDefault(name + "." + endpoint, values.get(name)));
+    }
+}
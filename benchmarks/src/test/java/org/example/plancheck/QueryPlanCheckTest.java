@@ -0,0 +1,168 @@
+package org.example.plancheck;
+
+import org.example.benchmark.BenchmarkApplication;
+import org.example.domain.Priority;
+import org.example.domain.TaskStatus;
+import org.example.dto.TaskFilter;
+import org.example.service.Implementation.TaskService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Query-plan regression check for the filtered task listing. Seeds a skewed task table on H2,
+ * runs each common filter through TaskService.findTasks, captures the SQL Hibernate generates
+ * and EXPLAINs it with the same bind values. Fails when a filter no longer uses the index it was
+ * designed for (e.g. after a Specification or index definition change). The table size comes from
+ * the plancheck.rows system property.
+ */
+class QueryPlanCheckTest {
+
+    private static final int USERS = 200;
+    private static final int LIMIT = 50;
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private static ConfigurableApplicationContext context;
+    private static JdbcTemplate jdbc;
+    private static TaskService taskService;
+
+    // expectedIndex is a regex over index names as H2 prints them in the plan
+    record Scenario(String name, TaskFilter filter, List<String> sort, String expectedIndex) {
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    static List<Scenario> scenarios() {
+        return List.of(
+                new Scenario("status", TaskFilter.builder().status(TaskStatus.PENDING).build(),
+                        null, "idx_task_status_priority"),
+                new Scenario("status+priority", TaskFilter.builder().status(TaskStatus.PENDING)
+                        .priority(Priority.URGENT).build(), List.of("deadline,desc"), "idx_task_status_priority"),
+                // H2 may seek the equivalent single-column index it creates for the foreign key
+                new Scenario("assignee", TaskFilter.builder().assigneeId(7L).build(),
+                        null, "idx_task_assignee_status_deadline|fk\\w+_index_\\w+"),
+                new Scenario("assignee+status", TaskFilter.builder().assigneeId(7L)
+                        .status(TaskStatus.IN_PROGRESS).build(), null, "idx_task_assignee_status_deadline"),
+                new Scenario("assignee+status+deadline", TaskFilter.builder().assigneeId(7L)
+                        .status(TaskStatus.PENDING).deadlineBefore(NOW.plusDays(30)).build(),
+                        List.of("deadline"), "idx_task_assignee_status_deadline"),
+                new Scenario("deadline", TaskFilter.builder().deadlineBefore(NOW.minusDays(330)).build(),
+                        null, "idx_task_deadline"));
+    }
+
+    @BeforeAll
+    static void startAndSeed() {
+        context = BenchmarkApplication.start(
+                "--spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                        + CapturingStatementInspector.class.getName());
+        jdbc = context.getBean(JdbcTemplate.class);
+        taskService = context.getBean(TaskService.class);
+        seed(Integer.getInteger("plancheck.rows", 20_000));
+    }
+
+    @AfterAll
+    static void stop() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("scenarios")
+    void filterUsesItsIndex(Scenario scenario) {
+        String plan = explain(scenario);
+        assertTrue(Pattern.compile("/\\* public\\.(" + scenario.expectedIndex() + "):").matcher(plan).find(),
+                () -> scenario.name() + " should use " + scenario.expectedIndex() + ", plan: " + plan.replaceAll("\\s+", " "));
+    }
+
+    // Runs the filter through the service, then EXPLAINs the captured SELECT with the filter's bind values
+    private static String explain(Scenario scenario) {
+        List<String> captured;
+        CapturingStatementInspector.start();
+        try {
+            taskService.findTasks(scenario.filter(), scenario.sort(), LIMIT);
+        } finally {
+            captured = CapturingStatementInspector.stop();
+        }
+        String sql = captured.stream()
+                .filter(s -> s.toLowerCase(Locale.ROOT).contains(" from task "))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No task query captured for " + scenario.name()));
+        List<Object> binds = binds(scenario.filter());
+        return jdbc.execute((java.sql.Connection con) -> {
+            try (PreparedStatement ps = con.prepareStatement("EXPLAIN " + sql)) {
+                int expected = ps.getParameterMetaData().getParameterCount();
+                if (expected != binds.size()) {
+                    throw new IllegalStateException("Expected " + binds.size() + " parameters but the query has "
+                            + expected + ": " + sql);
+                }
+                for (int i = 0; i < binds.size(); i++) {
+                    ps.setObject(i + 1, binds.get(i));
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    rs.next();
+                    return rs.getString(1).toLowerCase(Locale.ROOT);
+                }
+            }
+        });
+    }
+
+    // Same order as TaskSpecifications.matching, then the row limit
+    private static List<Object> binds(TaskFilter filter) {
+        List<Object> binds = new ArrayList<>();
+        if (filter.getAssigneeId() != null) {
+            binds.add(filter.getAssigneeId());
+        }
+        if (filter.getStatus() != null) {
+            binds.add(filter.getStatus().name());
+        }
+        if (filter.getPriority() != null) {
+            binds.add(filter.getPriority().name());
+        }
+        if (filter.getDeadlineBefore() != null) {
+            binds.add(filter.getDeadlineBefore());
+        }
+        binds.add(LIMIT);
+        return binds;
+    }
+
+    // Mostly completed tasks, as in a long-lived system, so open-status filters are selective
+    private static void seed(int rows) {
+        List<Object[]> users = new ArrayList<>();
+        for (long id = 1; id <= USERS; id++) {
+            users.add(new Object[]{id, "plan-user-" + id, "plan-user-" + id + "@example.org", "x"});
+        }
+        jdbc.batchUpdate("insert into app_user (id, user_name, email, password, version) values (?, ?, ?, ?, 0)", users);
+
+        Random random = new Random(42);
+        TaskStatus[] open = {TaskStatus.PENDING, TaskStatus.IN_PROGRESS};
+        Priority[] priorities = Priority.values();
+        List<Object[]> tasks = new ArrayList<>();
+        for (long id = 1; id <= rows; id++) {
+            TaskStatus status = random.nextInt(100) < 80 ? TaskStatus.COMPLETED : open[random.nextInt(open.length)];
+            LocalDateTime deadline = random.nextInt(10) < 3 ? null : NOW.plusDays(random.nextInt(730) - 365);
+            tasks.add(new Object[]{id, "plan task " + id, status.name(), priorities[random.nextInt(priorities.length)].name(),
+                    NOW, NOW, deadline, 1 + random.nextInt(USERS)});
+        }
+        jdbc.batchUpdate("insert into task (id, title, task_status, task_priority, created_at, updated_at, deadline, "
+                + "assigned_to_id, version) values (?, ?, ?, ?, ?, ?, ?, ?, 0)", tasks);
+        // refresh the optimizer's selectivity statistics
+        jdbc.execute("ANALYZE");
+    }
+}
@@ -0,0 +1,31 @@
+package org.example.Logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * AsyncAppender that counts the events it throws away, either because the queue is past the
+ * discarding threshold (TRACE/DEBUG/INFO only) or because it is full and neverBlock is set.
+ * Counts are taken just before the enqueue, so under contention they are a close estimate.
+ * Exposed as metrics by org.example.metrics.LoggingMetrics.
+ */
+public class MeteredAsyncAppender extends AsyncAppender {
+
+    private final LongAdder dropped = new LongAdder();
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        int remaining = getRemainingCapacity();
+        if ((remaining < getDiscardingThreshold() && isDiscardable(event))
+                || (isNeverBlock() && remaining == 0)) {
+            dropped.increment();
+        }
+        super.append(event);
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+}
@@ -0,0 +1,30 @@
+package org.example.Logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+/**
+ * Lets Hibernate SQL statement (and bind parameter) logging through only for requests that
+ * TraceIdFilter picked for sampling; everything else from those loggers is denied before any
+ * message is formatted. Other loggers are left alone.
+ */
+public class SqlLogSamplingFilter extends TurboFilter {
+
+    public static final String MDC_KEY = "sqlLog";
+
+    private static final String SQL_LOGGER = "org.hibernate.SQL";
+    private static final String BIND_LOGGER = "org.hibernate.orm.jdbc.bind";
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        String name = logger.getName();
+        if (!name.equals(SQL_LOGGER) && !name.equals(BIND_LOGGER)) {
+            return FilterReply.NEUTRAL;
+        }
+        return MDC.get(MDC_KEY) != null ? FilterReply.ACCEPT : FilterReply.DENY;
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.Logging;
+
+import org.slf4j.MDC;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Per-request trace identifiers. 128 random bits from ThreadLocalRandom rendered as 32 hex chars
+ * (the W3C trace-id shape); not secret, so SecureRandom/UUID.randomUUID() is not needed.
+ */
+public final class TraceId {
+
+    public static final String HEADER = "X-Trace-Id";
+    public static final String MDC_KEY = "traceId";
+
+    private static final int MAX_INBOUND_LENGTH = 64;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private TraceId() {}
+
+    public static String generate() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        char[] out = new char[32];
+        writeHex(random.nextLong(), out, 0);
+        writeHex(random.nextLong(), out, 16);
+        return new String(out);
+    }
+
+    // The trace id of the current request, or a fresh one when called outside a request
+    public static String current() {
+        String traceId = MDC.get(MDC_KEY);
+        return traceId != null ? traceId : generate();
+    }
+
+    // Accept a caller's id only if it is short and header/log safe
+    public static boolean isValid(String candidate) {
+        if (candidate == null || candidate.isEmpty() || candidate.length() > MAX_INBOUND_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < candidate.length(); i++) {
+            char c = candidate.charAt(i);
+            if (!(Character.isLetterOrDigit(c) && c < 128) && c != '-' && c != '_') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeHex(long value, char[] out, int offset) {
+        for (int i = 15; i >= 0; i--) {
+            out[offset + i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.Logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Assigns each request a trace id (the caller's X-Trace-Id if valid, otherwise a new one),
+ * puts it in the MDC for %X{traceId} and echoes it on the response. Runs before the
+ * security chain so rejected requests are traceable too. Also decides, once per request,
+ * whether its SQL statements are logged (see SqlLogSamplingFilter).
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TraceIdFilter extends OncePerRequestFilter {
+
+    private final double sqlSampleRate;
+
+    public TraceIdFilter(@Value("${taskfodge.logging.sql-sample-rate:0}") double sqlSampleRate) {
+        this.sqlSampleRate = sqlSampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String inbound = request.getHeader(TraceId.HEADER);
+        String traceId = TraceId.isValid(inbound) ? inbound : TraceId.generate();
+        MDC.put(TraceId.MDC_KEY, traceId);
+        boolean sampleSql = sqlSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sqlSampleRate;
+        if (sampleSql) {
+            MDC.put(SqlLogSamplingFilter.MDC_KEY, "true");
+        }
+        response.setHeader(TraceId.HEADER, traceId);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            MDC.remove(TraceId.MDC_KEY);
+            if (sampleSql) {
+                MDC.remove(SqlLogSamplingFilter.MDC_KEY);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.admission;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Routes public service calls through the DB admission controllers: streaming exports
+ * through the export budget, everything else that may touch the database through the
+ * interactive one. Highest precedence so the permit is taken before @Transactional
+ * borrows a pooled connection.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class DbAdmissionAspect {
+
+    private final DbAdmissionController admissionController;
+    private final DbAdmissionController exportAdmissionController;
+
+    @Autowired
+    public DbAdmissionAspect(@Qualifier("dbAdmissionController") DbAdmissionController admissionController,
+                             @Qualifier("exportAdmissionController") DbAdmissionController exportAdmissionController) {
+        this.admissionController = admissionController;
+        this.exportAdmissionController = exportAdmissionController;
+    }
+
+    @Around("within(org.example.service.Implementation..*) && execution(public * *(..))"
+            + " && !@annotation(org.example.admission.SkipDbAdmission)"
+            + " && !@annotation(org.example.admission.ExportAdmission)")
+    public Object admit(ProceedingJoinPoint joinPoint) throws Throwable {
+        return admissionController.execute(joinPoint::proceed);
+    }
+
+    @Around("within(org.example.service.Implementation..*) && @annotation(org.example.admission.ExportAdmission)")
+    public Object admitExport(ProceedingJoinPoint joinPoint) throws Throwable {
+        return exportAdmissionController.execute(joinPoint::proceed);
+    }
+}
@@ -0,0 +1,114 @@
+package org.example.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.example.exception.ServiceUnavailableException;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fair, bounded bulkhead in front of DB-bound service calls. At most
+ * max-concurrent calls run at once, up to max-queue callers wait in FIFO
+ * order for at most max-wait, and anything beyond that is rejected
+ * immediately with a 503 instead of piling up on the pool's connection
+ * timeout. One instance per budget (see AdmissionConfig); nested service
+ * calls on the same thread reuse the caller's permit, whichever budget
+ * granted it.
+ */
+public class DbAdmissionController {
+
+    @FunctionalInterface
+    public interface Call<T> {
+        T proceed() throws Throwable;
+    }
+
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final int maxQueue;
+    private final long maxWaitNanos;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private static final ThreadLocal<Boolean> holdsPermit = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private final Timer waitTimer;
+    private final Counter queueFullRejections;
+    private final Counter timeoutRejections;
+
+    public DbAdmissionController(MeterRegistry meterRegistry, String budget,
+                                 int maxConcurrent, int maxQueue, Duration maxWait) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("Admission budget " + budget + " needs at least one permit");
+        }
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueue = maxQueue;
+        this.maxWaitNanos = maxWait.toNanos();
+
+        this.waitTimer = Timer.builder("taskfodge.admission.wait")
+                .description("Time spent waiting for a DB admission permit")
+                .tag("budget", budget)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.queueFullRejections = Counter.builder("taskfodge.admission.rejected")
+                .tag("budget", budget)
+                .tag("reason", "queue_full")
+                .register(meterRegistry);
+        this.timeoutRejections = Counter.builder("taskfodge.admission.rejected")
+                .tag("budget", budget)
+                .tag("reason", "timeout")
+                .register(meterRegistry);
+        Gauge.builder("taskfodge.admission.queue.depth", waiting, AtomicInteger::get)
+                .description("Callers waiting for a DB admission permit")
+                .tag("budget", budget)
+                .register(meterRegistry);
+        Gauge.builder("taskfodge.admission.in.flight", permits, p -> maxConcurrent - p.availablePermits())
+                .description("DB-bound calls currently admitted")
+                .tag("budget", budget)
+                .register(meterRegistry);
+    }
+
+    public <T> T execute(Call<T> call) throws Throwable {
+        if (holdsPermit.get()) {
+            return call.proceed();
+        }
+        acquire();
+        holdsPermit.set(Boolean.TRUE);
+        try {
+            return call.proceed();
+        } finally {
+            holdsPermit.remove();
+            permits.release();
+        }
+    }
+
+    private void acquire() {
+        // fast path: a free permit and nobody queued ahead of us
+        // (untimed tryAcquire barges, so only take it when the queue is empty to keep FIFO fairness)
+        if (waiting.get() == 0 && permits.tryAcquire()) {
+            waitTimer.record(0, TimeUnit.NANOSECONDS);
+            return;
+        }
+        if (waiting.incrementAndGet() > maxQueue) {
+            waiting.decrementAndGet();
+            queueFullRejections.increment();
+            throw new ServiceUnavailableException("Server is busy, please retry");
+        }
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                timeoutRejections.increment();
+                throw new ServiceUnavailableException("Server is busy, please retry");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Request interrupted while waiting for capacity");
+        } finally {
+            waiting.decrementAndGet();
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
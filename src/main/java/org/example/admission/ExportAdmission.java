@@ -0,0 +1,15 @@
+package org.example.admission;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a streaming export that holds its connection for as long as the client keeps reading.
+ * It is admitted against the export budget instead of the one interactive calls share.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ExportAdmission {
+}
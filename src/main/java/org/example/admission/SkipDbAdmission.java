@@ -0,0 +1,15 @@
+package org.example.admission;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a service method that never borrows a connection (it answers from an in-memory view),
+ * so DbAdmissionAspect does not make it wait for, or hold, a DB permit.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SkipDbAdmission {
+}
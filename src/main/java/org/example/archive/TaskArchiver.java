@@ -0,0 +1,138 @@
+package org.example.archive;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.example.Logging.LogUtils;
+import org.example.service.Implementation.TaskService;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background job that keeps the task table to live work: COMPLETED tasks not changed for min-age
+ * are moved to task_archive, batch-size rows per transaction with a pause in between, so row locks
+ * are held for one short batch and rows a user is editing are simply skipped until the next run.
+ * A run stops after max-batches-per-run; whatever is left waits for the next one. Moved tasks are
+ * published as ARCHIVED changes, which drops them from the in-memory views and the stats counters.
+ */
+@Component
+public class TaskArchiver {
+
+    private static final Logger log = LogUtils.getLogger(TaskArchiver.class);
+
+    private final TaskService taskService;
+    private final boolean enabled;
+    private final Duration minAge;
+    private final int batchSize;
+    private final Duration batchPause;
+    private final int maxBatchesPerRun;
+    private final Counter moved;
+    private final Counter failures;
+    private final Timer batchTimer;
+    // archivable rows counted at the start of a run, less what the run has moved since
+    private final AtomicLong backlog = new AtomicLong();
+    // tasks per second over the last run that moved any, pauses included
+    private volatile double throughput;
+    private volatile boolean stopping;
+
+    @Autowired
+    public TaskArchiver(TaskService taskService, MeterRegistry meterRegistry,
+                        @Value("${taskfodge.archive.enabled:true}") boolean enabled,
+                        @Value("${taskfodge.archive.min-age:P90D}") Duration minAge,
+                        @Value("${taskfodge.archive.batch-size:500}") int batchSize,
+                        @Value("${taskfodge.archive.batch-pause:PT0.2S}") Duration batchPause,
+                        @Value("${taskfodge.archive.max-batches-per-run:200}") int maxBatchesPerRun) {
+        this.taskService = taskService;
+        this.enabled = enabled;
+        this.minAge = minAge;
+        this.batchSize = batchSize;
+        this.batchPause = batchPause;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.moved = Counter.builder("taskfodge.archive.moved")
+                .description("Completed tasks moved to task_archive")
+                .register(meterRegistry);
+        this.failures = Counter.builder("taskfodge.archive.failures")
+                .description("Archival batches that failed and were rolled back")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("taskfodge.archive.batch")
+                .description("Time to move one batch of completed tasks, one transaction each")
+                .register(meterRegistry);
+        Gauge.builder("taskfodge.archive.backlog", backlog, AtomicLong::get)
+                .description("Completed tasks old enough to archive that are still in the task table")
+                .register(meterRegistry);
+        Gauge.builder("taskfodge.archive.throughput", this, archiver -> archiver.throughput)
+                .baseUnit("tasks/s")
+                .description("Tasks moved per second by the last archival run that moved any")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${taskfodge.archive.interval:PT1H}",
+            fixedDelayString = "${taskfodge.archive.interval:PT1H}")
+    public void archivePeriodically() {
+        if (enabled) {
+            run();
+        }
+    }
+
+    /** One archival run; returns the number of tasks moved */
+    public int run() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(minAge);
+        long start = System.nanoTime();
+        int total = 0;
+        int batches = 0;
+        try {
+            backlog.set(taskService.countArchivable(cutoff));
+            while (batches < maxBatchesPerRun && !stopping) {
+                Integer count = batchTimer.record(() -> taskService.archiveCompleted(cutoff, batchSize));
+                int n = count == null ? 0 : count;
+                batches++;
+                total += n;
+                moved.increment(n);
+                backlog.updateAndGet(left -> Math.max(0, left - n));
+                // a short batch means the backlog is done, or the rest is locked by writers right now
+                if (n < batchSize || !pause()) {
+                    break;
+                }
+            }
+        } catch (RuntimeException ex) {
+            failures.increment();
+            log.error("Task archival stopped after {} tasks, will retry next run", total, ex);
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        if (total > 0) {
+            throughput = total / (elapsedNanos / 1e9);
+            log.info("Archived {} completed tasks in {} batches, {} ms, about {} left", total, batches,
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos), backlog.get());
+        }
+        return total;
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopping = true;
+    }
+
+    // false when interrupted, so shutdown does not wait out the pause
+    private boolean pause() {
+        if (batchPause.isZero()) {
+            return true;
+        }
+        try {
+            Thread.sleep(batchPause);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package org.example.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.Logging.LogUtils;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Already-encoded JSON responses (plus a gzip copy when it pays off) for hot read endpoints.
+ * Entries are keyed by region, route and the region's generation; invalidate() bumps the
+ * generation once the writing transaction has committed, so a rebuild that raced the write
+ * can only land under the old generation and is never served again. Concurrent misses on
+ * one key wait for a single rebuild. Total size is bounded in bytes.
+ */
+@Component
+public class ResponseCache {
+
+    private static final Logger log = LogUtils.getLogger(ResponseCache.class);
+    private static final String GZIP = "gzip";
+    // key, entry and array headers, so tiny payloads still count against the bound
+    private static final int ENTRY_OVERHEAD = 128;
+
+    /** Groups of cached routes that are invalidated together */
+    public enum Region {
+        TASKS,
+        ROLES
+    }
+
+    private record Key(Region region, long generation, String route) {
+    }
+
+    private record Entry(byte[] json, byte[] gzip, String hash, Duration ttl) {
+        int weight() {
+            return ENTRY_OVERHEAD + json.length + (gzip == null ? 0 : gzip.length);
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int gzipMinBytes;
+    private final AsyncCache<Key, Entry> cache;
+    private final Map<Region, AtomicLong> generations = new EnumMap<>(Region.class);
+    private final Map<Region, Counter> invalidations = new EnumMap<>(Region.class);
+    private final Timer buildTimer;
+
+    @Autowired
+    public ResponseCache(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                         @Value("${taskfodge.response-cache.enabled:true}") boolean enabled,
+                         @Value("${taskfodge.response-cache.max-size:64MB}") DataSize maxSize,
+                         @Value("${taskfodge.response-cache.gzip-min-size:1KB}") DataSize gzipMinSize) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.gzipMinBytes = (int) gzipMinSize.toBytes();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((Key key, Entry entry) -> entry.weight())
+                .expireAfter(new Expiry<Key, Entry>() {
+                    @Override
+                    public long expireAfterCreate(Key key, Entry entry, long currentTime) {
+                        return entry.ttl().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Key key, Entry entry, long currentTime, long currentDuration) {
+                        return entry.ttl().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(Key key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .buildAsync();
+        for (Region region : Region.values()) {
+            generations.put(region, new AtomicLong());
+            invalidations.put(region, Counter.builder("taskfodge.response.cache.invalidations")
+                    .tag("region", region.name().toLowerCase(Locale.ROOT))
+                    .description("Committed writes that invalidated cached responses")
+                    .register(meterRegistry));
+        }
+        this.buildTimer = Timer.builder("taskfodge.response.cache.build")
+                .description("Time to load and encode a response on a cache miss")
+                .register(meterRegistry);
+        // hits, misses, evictions and entry count; same tag keys as the Spring-managed caches
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "responses",
+                Tags.of("cache.manager", "responseCache", "name", "responses"));
+        Gauge.builder("taskfodge.response.cache.size", cache,
+                        c -> c.synchronous().policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L))
+                .baseUnit("bytes")
+                .description("Encoded bytes held in the response cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Answers with the cached encoding of the route, loading and encoding it on a miss.
+     * Honours If-None-Match and serves the gzip copy to clients that accept it.
+     */
+    public ResponseEntity<byte[]> respond(Region region, String route, Duration ttl,
+                                          WebRequest request, Supplier<?> loader) {
+        Entry entry = enabled ? lookup(new Key(region, generations.get(region).get(), route), ttl, loader)
+                : encode(loader.get(), ttl);
+        boolean gzip = entry.gzip() != null && acceptsGzip(request);
+        // each content coding is a distinct representation, so it gets its own strong tag
+        String etag = "\"" + entry.hash() + (gzip ? "-" + GZIP : "") + "\"";
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT_ENCODING).build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, GZIP).body(entry.gzip());
+        }
+        return response.body(entry.json());
+    }
+
+    /**
+     * Drops the region's cached responses once the current transaction commits
+     * (immediately outside a transaction). Called from the service write paths.
+     */
+    public void invalidate(Region region) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidateNow(region);
+            return;
+        }
+        // one synchronization per transaction, however many rows a bulk write touches
+        @SuppressWarnings("unchecked")
+        Set<Region> pending = (Set<Region>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<Region> regions = EnumSet.noneOf(Region.class);
+            TransactionSynchronizationManager.bindResource(this, regions);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                // afterCompletion runs after every afterCommit callback (Spring cache evictions) and,
+                // at this order, after the listeners that maintain the views these responses read
+                @Override
+                public int getOrder() {
+                    return Ordered.LOWEST_PRECEDENCE;
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ResponseCache.this);
+                    if (status == STATUS_COMMITTED) {
+                        regions.forEach(ResponseCache.this::invalidateNow);
+                    }
+                }
+            });
+            pending = regions;
+        }
+        pending.add(region);
+    }
+
+    private void invalidateNow(Region region) {
+        generations.get(region).incrementAndGet();
+        invalidations.get(region).increment();
+        // old generations are unreachable already; free their bytes now rather than at eviction
+        cache.synchronous().asMap().keySet().removeIf(key -> key.region() == region);
+    }
+
+    private Entry lookup(Key key, Duration ttl, Supplier<?> loader) {
+        CompletableFuture<Entry> mine = new CompletableFuture<>();
+        CompletableFuture<Entry> future = cache.get(key, (k, executor) -> mine);
+        if (future == mine) {
+            // this caller won the miss and rebuilds on its own thread; the others wait on the future,
+            // which parks rather than pins virtual threads. A failed future is dropped by the cache.
+            try {
+                mine.complete(buildTimer.record(() -> encode(loader.get(), ttl)));
+            } catch (RuntimeException | Error ex) {
+                mine.completeExceptionally(ex);
+                throw ex;
+            }
+        }
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private Entry encode(Object body, Duration ttl) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            return new Entry(json, json.length >= gzipMinBytes ? gzip(json) : null,
+                    DigestUtils.md5DigestAsHex(json), ttl);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    // null when compression does not make the payload smaller
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(json);
+        } catch (IOException ex) {
+            log.warn("Could not gzip cached response", ex);
+            return null;
+        }
+        return out.size() < json.length ? out.toByteArray() : null;
+    }
+
+    // gzip (or "*" when gzip is not listed) with a non-zero q-value; "gzip;q=0" refuses it
+    private static boolean acceptsGzip(WebRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (accept == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double any = null;
+        for (String coding : accept.split(",")) {
+            String[] params = coding.split(";");
+            String name = params[0].trim().toLowerCase(Locale.ROOT);
+            double q = 1;
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim();
+                if (param.regionMatches(true, 0, "q=", 0, 2)) {
+                    try {
+                        q = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException ex) {
+                        // a malformed weight is not consent to compress
+                        q = 0;
+                    }
+                }
+            }
+            if (name.equals(GZIP) || name.equals("x-" + GZIP)) {
+                gzip = q;
+            } else if (name.equals("*")) {
+                any = q;
+            }
+        }
+        double weight = gzip != null ? gzip : any != null ? any : 0;
+        return weight > 0;
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.cache;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Entity listener bumping TableVersions for every JPA insert, update (including version bumps from
+ * role collection changes) and delete. Created through Hibernate's Spring bean container.
+ */
+public class TableVersionListener {
+
+    private final TableVersions tableVersions;
+
+    @Autowired
+    public TableVersionListener(TableVersions tableVersions) {
+        this.tableVersions = tableVersions;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void onWrite(Object entity) {
+        tableVersions.changed(Hibernate.getClass(entity));
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.cache;
+
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-entity change counters behind the list ETags, so a conditional listing never aggregates the table.
+ * JPA writes bump them through TableVersionListener, JDBC writes call changed() themselves. The bump
+ * happens after commit, so a tag read before a load can only be older than the rows it is sent with.
+ * The counters live in this process, like the other in-memory views; the epoch keeps tags handed out
+ * before a restart from ever matching again.
+ */
+@Component
+public class TableVersions {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<Class<?>, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    /** Current tag component of the entity's table */
+    public String version(Class<?> entityType) {
+        return epoch + "-" + counter(entityType).get();
+    }
+
+    /**
+     * Records a write to the entity's table, effective once the current transaction commits
+     * (immediately outside a transaction).
+     */
+    public void changed(Class<?> entityType) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            counter(entityType).incrementAndGet();
+            return;
+        }
+        // one synchronization per transaction, however many rows it writes
+        @SuppressWarnings("unchecked")
+        Set<Class<?>> pending = (Set<Class<?>>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<Class<?>> types = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(this, types);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                // after commit like ResponseCache.invalidate, just ahead of it
+                @Override
+                public int getOrder() {
+                    return Ordered.LOWEST_PRECEDENCE - 1;
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TableVersions.this);
+                    if (status == STATUS_COMMITTED) {
+                        types.forEach(type -> counter(type).incrementAndGet());
+                    }
+                }
+            });
+            pending = types;
+        }
+        pending.add(entityType);
+    }
+
+    private AtomicLong counter(Class<?> entityType) {
+        return counters.computeIfAbsent(entityType, type -> new AtomicLong());
+    }
+}
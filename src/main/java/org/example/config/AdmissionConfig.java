@@ -0,0 +1,36 @@
+package org.example.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.admission.DbAdmissionController;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * DB admission budgets. max-concurrent is the number of connections admission hands out in total;
+ * streaming exports get their own share of it, so a few long downloads cannot starve interactive
+ * calls of permits. An export beyond its share is refused at once rather than queued.
+ */
+@Configuration
+public class AdmissionConfig {
+
+    @Bean
+    public DbAdmissionController dbAdmissionController(
+            MeterRegistry meterRegistry,
+            @Value("${taskfodge.admission.max-concurrent:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrent,
+            @Value("${taskfodge.admission.export.max-concurrent:2}") int exportMaxConcurrent,
+            @Value("${taskfodge.admission.max-queue:200}") int maxQueue,
+            @Value("${taskfodge.admission.max-wait:PT2S}") Duration maxWait) {
+        return new DbAdmissionController(meterRegistry, "interactive",
+                maxConcurrent - exportMaxConcurrent, maxQueue, maxWait);
+    }
+
+    @Bean
+    public DbAdmissionController exportAdmissionController(
+            MeterRegistry meterRegistry,
+            @Value("${taskfodge.admission.export.max-concurrent:2}") int exportMaxConcurrent) {
+        return new DbAdmissionController(meterRegistry, "export", exportMaxConcurrent, 0, Duration.ZERO);
+    }
+}
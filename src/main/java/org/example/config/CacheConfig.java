@@ -0,0 +1,34 @@
+package org.example.config;
+
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Local Caffeine caches for rarely changing reference data. Size, TTL and
+ * statistics come from spring.cache.caffeine.spec; evictions issued inside a
+ * transaction are deferred until it commits.
+ */
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    public static final String ROLES = "roles";
+    public static final String ROLE_BY_ID = "roleById";
+    public static final String ROLE_BY_NAME = "roleByName";
+    public static final String USER_ROLES = "userRoles";
+
+    @Bean
+    public CacheManager cacheManager(CacheProperties cacheProperties) {
+        CaffeineCacheManager caffeine = new CaffeineCacheManager();
+        caffeine.setCacheSpecification(cacheProperties.getCaffeine().getSpec());
+        caffeine.setCacheNames(cacheProperties.getCacheNames());
+        return new TransactionAwareCacheManagerProxy(caffeine);
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.datasource.ReplicaRoutingDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read/write splitting, active when taskfodge.datasource.replica-urls is set. The primary pool is
+ * built from spring.datasource as before; each replica URL gets its own read-only pool. JPA and
+ * JdbcTemplate see a lazy proxy over the routing data source, so the pool is chosen when a
+ * transaction runs its first statement.
+ */
+@Configuration
+@ConditionalOnProperty("taskfodge.datasource.replica-urls")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        return primary;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource, DataSourceProperties properties, MeterRegistry meterRegistry,
+            @Value("${taskfodge.datasource.replica-urls}") List<String> urls,
+            @Value("${taskfodge.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${taskfodge.datasource.replica.password:${spring.datasource.password:}}") String password,
+            @Value("${taskfodge.datasource.replica.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${taskfodge.datasource.replica.connection-timeout:PT1S}") Duration connectionTimeout,
+            @Value("${taskfodge.datasource.replica.balancing:round-robin}") String balancing,
+            @Value("${taskfodge.datasource.replica.max-lag:PT1S}") Duration maxLag,
+            @Value("${taskfodge.datasource.replica.sticky-window:PT5S}") Duration stickyWindow,
+            @Value("${taskfodge.datasource.replica.lag-query}") String lagQuery) {
+        List<HikariDataSource> pools = new ArrayList<>();
+        for (String url : urls) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("replica-" + (pools.size() + 1));
+            pool.setJdbcUrl(url.trim());
+            pool.setDriverClassName(properties.determineDriverClassName());
+            pool.setUsername(username);
+            pool.setPassword(password);
+            pool.setMaximumPoolSize(maximumPoolSize);
+            pool.setConnectionTimeout(connectionTimeout.toMillis());
+            pool.setReadOnly(true);
+            // start even when a replica is down; reads go to the primary until it answers
+            pool.setInitializationFailTimeout(-1);
+            pool.setMetricRegistry(meterRegistry);
+            pools.add(pool);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, pools, ReplicaRoutingDataSource.Balancing.of(balancing),
+                maxLag, stickyWindow, lagQuery, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.config;
+
+import jakarta.servlet.DispatcherType;
+import org.example.security.JwtAuthenticationFilter;
+import org.example.security.JwtService;
+import org.example.security.VerifiedToken;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+@Configuration
+@EnableWebSecurity
+public class SecurityConfig {
+
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return new BCryptPasswordEncoder();
+    }
+
+    // Stateless: no HTTP session, every request carries its own JWT
+    @Bean
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtService jwtService,
+                                                   @Value("${taskfodge.security.admin-role:ADMIN}") String adminRole) throws Exception {
+        http
+                .csrf(AbstractHttpConfigurer::disable)
+                .httpBasic(AbstractHttpConfigurer::disable)
+                .formLogin(AbstractHttpConfigurer::disable)
+                .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .exceptionHandling(eh -> eh.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED))
+                        // plain 403 without the /error dispatch, which an anonymous error request would turn into 401
+                        .accessDeniedHandler((request, response, ex) -> response.setStatus(HttpStatus.FORBIDDEN.value())))
+                .authorizeHttpRequests(auth -> auth
+                        // async dispatches only finish responses (SSE, NDJSON export) of requests already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/auth/login", "/api/users").permitAll()
+                        // roles end up as trusted token claims, so only admins hand them out
+                        .requestMatchers(HttpMethod.PUT, "/api/users/*/roles").hasRole(adminRole)
+                        // and only admins define them: renaming a role to the admin role would otherwise grant it
+                        .requestMatchers(HttpMethod.POST, "/api/roles").hasRole(adminRole)
+                        .requestMatchers(HttpMethod.PUT, "/api/roles/*").hasRole(adminRole)
+                        .requestMatchers(HttpMethod.DELETE, "/api/roles/*").hasRole(adminRole)
+                        // an account's email, password and existence belong to its owner (the token subject) and admins
+                        .requestMatchers(HttpMethod.PUT, "/api/users/{id}").access(selfOrRole("id", adminRole))
+                        .requestMatchers(HttpMethod.DELETE, "/api/users/{id}").access(selfOrRole("id", adminRole))
+                        .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
+                        .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
+                        .anyRequest().authenticated())
+                .addFilterBefore(new JwtAuthenticationFilter(jwtService), UsernamePasswordAuthenticationFilter.class);
+        return http.build();
+    }
+
+    // Grants the request when the path variable is the caller's own user id, or the caller has the role
+    private static AuthorizationManager<RequestAuthorizationContext> selfOrRole(String idVariable, String role) {
+        String authority = "ROLE_" + role;
+        return (authentication, context) -> {
+            Authentication caller = authentication.get();
+            boolean self = caller != null && caller.getDetails() instanceof VerifiedToken token
+                    && String.valueOf(token.userId()).equals(context.getVariables().get(idVariable));
+            boolean privileged = caller != null && caller.getAuthorities().stream()
+                    .anyMatch(granted -> authority.equals(granted.getAuthority()));
+            return new AuthorizationDecision(self || privileged);
+        };
+    }
+}
@@ -1,11 +1,20 @@
 package org.example.controller;
 
+import org.example.domain.Versioned;
+import org.example.dto.CursorPage;
 import org.example.service.BaseService;
+import org.example.service.Implementation.BaseServiceImpl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public abstract class BaseController<T, ID> {
 
@@ -22,26 +31,74 @@ public abstract class BaseController<T, ID> {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<T> getById(@PathVariable ID id) {
+    public ResponseEntity<T> getById(@PathVariable ID id, WebRequest request) {
+        // Conditional GET: compare against the version columns before loading the entity graph
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<String> version = service.findRepresentationVersion(id);
+            if (version.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            String etag = ETags.of(version.get());
+            if (request.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
         Optional<T> entity = service.findById(id);
-        return entity.map(ResponseEntity::ok)
+        return entity.map(this::okWithETag)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping
-    public ResponseEntity<List<T>> getAll() {
-        return ResponseEntity.ok(service.findAll());
+    public ResponseEntity<List<T>> getAll(@RequestParam MultiValueMap<String, String> params, WebRequest request) {
+        // taken before the load, so a concurrent write can only leave the tag older than the body;
+        // any write to the table (or to a table embedded in it) changes it, so it is also a valid tag for a filtered listing
+        String etag = ETags.of(service.collectionVersion());
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        boolean filtered = !Collections.disjoint(params.keySet(), filterParameters());
+        return ResponseEntity.ok().eTag(etag).body(filtered ? findFiltered(params) : service.findAll());
+    }
+
+    // Cursor-based paging; follow nextCursor until it is absent
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<T>> getPage(@RequestParam(required = false) String cursor,
+                                                 @RequestParam(defaultValue = "" + BaseServiceImpl.DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(service.findPage(cursor, size));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<T> update(@PathVariable ID id, @RequestBody T entity) {
+    public ResponseEntity<T> update(@PathVariable ID id, @RequestBody T entity,
+                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expected = ETags.checkIfMatch(ifMatch, () -> service.findRepresentationVersion(id));
+        if (entity instanceof Versioned versioned) {
+            ETags.pinVersion(versioned, expected);
+        }
         T updatedEntity = service.update(id, entity);
-        return ResponseEntity.ok(updatedEntity);
+        return okWithETag(updatedEntity);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> delete(@PathVariable ID id) {
-        service.deleteById(id);
+    public ResponseEntity<Void> delete(@PathVariable ID id,
+                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expected = ETags.checkIfMatch(ifMatch, () -> service.findRepresentationVersion(id));
+        service.deleteById(id, expected);
         return ResponseEntity.noContent().build();
     }
+
+    // Query parameters that turn GET / into a filtered listing; none unless a controller overrides it
+    protected Set<String> filterParameters() {
+        return Set.of();
+    }
+
+    protected List<T> findFiltered(MultiValueMap<String, String> params) {
+        return service.findAll();
+    }
+
+    protected ResponseEntity<T> okWithETag(T entity) {
+        if (entity instanceof Versioned versioned && versioned.getVersion() != null) {
+            return ResponseEntity.ok().eTag(ETags.of(versioned)).body(entity);
+        }
+        return ResponseEntity.ok(entity);
+    }
 }
\ No newline at end of file
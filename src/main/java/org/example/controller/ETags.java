@@ -0,0 +1,65 @@
+package org.example.controller;
+
+import org.example.domain.Versioned;
+import org.example.exception.NotFoundException;
+import org.example.exception.PreconditionFailedException;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Strong ETags built from entity versions (Versioned.representationVersion), and If-Match evaluation for writes.
+ */
+final class ETags {
+
+    private ETags() {}
+
+    static String of(Object version) {
+        return "\"" + version + "\"";
+    }
+
+    static String of(Versioned entity) {
+        return of(entity.representationVersion());
+    }
+
+    static <T extends Versioned> ResponseEntity<T> ok(T entity) {
+        return ResponseEntity.ok().eTag(of(entity)).body(entity);
+    }
+
+    /**
+     * Puts the version an If-Match matched into the entity to write, so the service's version check (and
+     * @Version on flush) fails a write that raced the precondition. A version already in the body wins.
+     */
+    static void pinVersion(Versioned entity, Long expected) {
+        if (expected != null && entity.getVersion() == null) {
+            entity.setVersion(expected);
+        }
+    }
+
+    /**
+     * Throws 412 unless the If-Match header (absent, "*" or a list of strong ETags)
+     * matches the current representation version; 404 when the resource does not exist.
+     * Returns the entity's own version from the matched tag, or null when there was nothing
+     * to pin (no header or "*").
+     */
+    static Long checkIfMatch(String ifMatch, Supplier<Optional<String>> currentVersion) {
+        if (ifMatch == null) {
+            return null;
+        }
+        String version = currentVersion.get().orElseThrow(() -> new NotFoundException("Resource not found!"));
+        String current = of(version);
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            // weak tags never match under the strong comparison If-Match requires
+            if (tag.equals("*")) {
+                return null;
+            }
+            if (tag.equals(current)) {
+                int embedded = version.indexOf('.');
+                return Long.valueOf(embedded < 0 ? version : version.substring(0, embedded));
+            }
+        }
+        throw new PreconditionFailedException("Resource has changed, current ETag is " + current);
+    }
+}
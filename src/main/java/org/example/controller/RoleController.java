@@ -2,13 +2,19 @@ package org.example.controller;
 
 
 
+import org.example.cache.ResponseCache;
 import org.example.domain.Role;
 import org.example.service.Implementation.RoleService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
+import java.time.Duration;
 
 @RestController
 @RequestMapping("/api/roles")
@@ -17,29 +23,46 @@ public class RoleController {
     @Autowired
     private RoleService roleService;
 
+    @Autowired
+    private ResponseCache responseCache;
+
+    @Value("${taskfodge.response-cache.ttl.roles:PT10M}")
+    private Duration rolesTtl;
+
     @PostMapping
     public ResponseEntity<Role> createRole(@RequestBody Role role) {
         return ResponseEntity.ok(roleService.createRole(role));
     }
 
-    @GetMapping
-    public ResponseEntity<List<Role>> getAllRoles() {
-        return ResponseEntity.ok(roleService.getAllRoles());
+    // Served as cached JSON bytes, rebuilt from the roles cache after a role write commits
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getAllRoles(WebRequest request) {
+        return responseCache.respond(ResponseCache.Region.ROLES, "roles", rolesTtl,
+                request, roleService::getAllRoles);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Role> getRoleById(@PathVariable Long id) {
-        return ResponseEntity.ok(roleService.getRoleById(id));
+    public ResponseEntity<Role> getRoleById(@PathVariable Long id, WebRequest request) {
+        Role role = roleService.getRoleById(id);
+        if (request.checkNotModified(ETags.of(role))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ETags.of(role)).build();
+        }
+        return ETags.ok(role);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Role> updateRole(@PathVariable Long id, @RequestBody Role role) {
-        return ResponseEntity.ok(roleService.updateRole(id, role));
+    public ResponseEntity<Role> updateRole(@PathVariable Long id, @RequestBody Role role,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expected = ETags.checkIfMatch(ifMatch, () -> roleService.findRepresentationVersion(id));
+        ETags.pinVersion(role, expected);
+        return ETags.ok(roleService.updateRole(id, role));
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteRole(@PathVariable Long id) {
-        roleService.deleteRole(id);
+    public ResponseEntity<Void> deleteRole(@PathVariable Long id,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expected = ETags.checkIfMatch(ifMatch, () -> roleService.findRepresentationVersion(id));
+        roleService.deleteRole(id, expected);
         return ResponseEntity.noContent().build();
     }
 }
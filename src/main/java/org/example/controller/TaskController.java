@@ -1,25 +1,85 @@
 package org.example.controller;
 
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.apache.coyote.BadRequestException;
+import org.example.cache.ResponseCache;
+import org.example.domain.Priority;
 import org.example.domain.Task;
+import org.example.domain.TaskArchive;
+import org.example.domain.TaskStatus;
+import org.example.dto.TaskArchiveQuery;
+import org.example.dto.TaskFilter;
+import org.example.dto.TaskSearchHit;
+import org.example.dto.TaskStats;
+import org.example.dto.TaskStatusUpdate;
+import org.example.dto.TaskSummary;
+import org.example.feed.TaskChangeFeed;
+import org.example.ingest.TaskUpdateCoalescer;
+import org.example.service.Implementation.BaseServiceImpl;
 import org.example.service.Implementation.TaskService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/api/tasks")
 public class TaskController extends BaseController<Task, Long> {
 
+    // GET /api/tasks?status=&priority=&assignee=&deadlineBefore=&sort=&limit=
+    private static final Set<String> FILTER_PARAMS = Set.of("status", "priority", "assignee", "deadlineBefore", "sort", "limit");
+
     private final TaskService taskService;
+    private final ResponseCache responseCache;
+    private final TaskChangeFeed changeFeed;
+    private final TaskUpdateCoalescer updateCoalescer;
+    private final Duration deadlineSoonTtl;
 
     @Autowired
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, ResponseCache responseCache, TaskChangeFeed changeFeed,
+                          TaskUpdateCoalescer updateCoalescer,
+                          @Value("${taskfodge.response-cache.ttl.deadline-soon:PT5S}") Duration deadlineSoonTtl) {
         super(taskService); // pass to BaseController if constructor exists
         this.taskService = taskService;
+        this.responseCache = responseCache;
+        this.changeFeed = changeFeed;
+        this.updateCoalescer = updateCoalescer;
+        this.deadlineSoonTtl = deadlineSoonTtl;
+    }
+
+    @Override
+    protected Set<String> filterParameters() {
+        return FILTER_PARAMS;
+    }
+
+    @Override
+    protected List<Task> findFiltered(MultiValueMap<String, String> params) {
+        TaskFilter filter = TaskFilter.builder()
+                .status(param(params, "status", s -> TaskStatus.valueOf(s.toUpperCase(Locale.ROOT))))
+                .priority(param(params, "priority", s -> Priority.valueOf(s.toUpperCase(Locale.ROOT))))
+                .assigneeId(param(params, "assignee", Long::valueOf))
+                .deadlineBefore(param(params, "deadlineBefore", LocalDateTime::parse))
+                .build();
+        Integer limit = param(params, "limit", Integer::valueOf);
+        return taskService.findTasks(filter, params.get("sort"),
+                limit == null ? BaseServiceImpl.MAX_PAGE_SIZE : limit);
     }
 
     // Only add custom endpoints here
@@ -28,9 +88,117 @@ public class TaskController extends BaseController<Task, Long> {
         return ResponseEntity.ok(taskService.createTask(task));
     }
 
-    @GetMapping("/deadline-soon")
-    public ResponseEntity<List<Task>> getTasksWithCloseDeadline() {
-        // Example custom business endpoint
-        return ResponseEntity.ok(taskService.getTasksWithCloseDeadline());
+    @PostMapping("/bulk")
+    public ResponseEntity<List<Task>> createTasks(@RequestBody List<Task> tasks) throws BadRequestException {
+        return ResponseEntity.ok(taskService.createTasks(tasks));
+    }
+
+    @PutMapping("/bulk")
+    public ResponseEntity<List<Task>> updateTasks(@RequestBody List<Task> tasks) throws BadRequestException {
+        return ResponseEntity.ok(taskService.updateTasks(tasks));
+    }
+
+    // Write-behind status/priority transitions for automation: 202 once queued, merged per task and written in batches
+    @PostMapping("/status-updates")
+    public ResponseEntity<Void> queueStatusUpdates(@RequestBody List<TaskStatusUpdate> updates) {
+        updateCoalescer.accept(updates);
+        return ResponseEntity.accepted().build();
+    }
+
+    // JSON Merge Patch; "version" in the body or an If-Match header makes it conditional
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Task> patchTask(@PathVariable Long id, @RequestBody JsonNode patch,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expected = ETags.checkIfMatch(ifMatch, () -> taskService.findRepresentationVersion(id));
+        // pin the matched version into the UPDATE so a write racing the check still fails
+        if (expected != null && patch instanceof ObjectNode body && !body.has("version")) {
+            body.put("version", expected);
+        }
+        return okWithETag(taskService.patchTask(id, patch));
+    }
+
+    // Served as cached JSON bytes; the short TTL bounds how far the sliding 24h window can lag
+    @GetMapping(value = "/deadline-soon", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getTasksWithCloseDeadline(WebRequest request) {
+        return responseCache.respond(ResponseCache.Region.TASKS, "deadline-soon", deadlineSoonTtl,
+                request, taskService::getTasksWithCloseDeadline);
+    }
+
+    // Server-Sent Events of committed task changes, optionally filtered; replaces polling the list endpoints
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestParam(required = false) Long assignee,
+                                    @RequestParam(required = false) TaskStatus status,
+                                    @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return changeFeed.subscribe(new TaskChangeFeed.Filter(assignee, status), lastEventId);
+    }
+
+    // Title search and typeahead: every word must match a title word by prefix, best matches first
+    @GetMapping("/search")
+    public ResponseEntity<List<TaskSearchHit>> searchTasks(@RequestParam String q,
+                                                           @RequestParam(required = false) TaskStatus status,
+                                                           @RequestParam(required = false) Priority priority,
+                                                           @RequestParam(defaultValue = "" + TaskService.DEFAULT_SEARCH_LIMIT) int limit) {
+        return ResponseEntity.ok(taskService.searchTasks(q, status, priority, limit));
+    }
+
+    // Counts by status x priority, by assignee and overdue for dashboards, without reading the task table
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStats> getTaskStats() {
+        return ResponseEntity.ok(taskService.getTaskStats());
+    }
+
+    // Archived (completed, moved out of the task table) tasks: title substring, assignee, completion period
+    @GetMapping("/archive")
+    public ResponseEntity<List<TaskArchive>> searchArchive(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Long assignee,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime completedFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime completedBefore,
+            @RequestParam(defaultValue = "" + BaseServiceImpl.DEFAULT_PAGE_SIZE) int limit) {
+        TaskArchiveQuery query = TaskArchiveQuery.builder()
+                .title(q)
+                .assigneeId(assignee)
+                .completedFrom(completedFrom)
+                .completedBefore(completedBefore)
+                .build();
+        return ResponseEntity.ok(taskService.searchArchive(query, limit));
+    }
+
+    @GetMapping("/archive/{id}")
+    public ResponseEntity<TaskArchive> getArchivedTask(@PathVariable Long id) {
+        return ResponseEntity.ok(taskService.getArchivedTask(id));
+    }
+
+    @GetMapping("/summary")
+    public ResponseEntity<List<TaskSummary>> getTaskSummaries() {
+        return ResponseEntity.ok(taskService.getTaskSummaries());
+    }
+
+    @GetMapping("/due")
+    public ResponseEntity<List<Task>> getTasksDueBetween(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(taskService.getTasksDueBetween(from, to));
+    }
+
+    // Streams every task as NDJSON; runs on an async thread so heap use stays flat regardless of row count
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTasks() {
+        StreamingResponseBody body = taskService::exportTasks;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    private static <V> V param(MultiValueMap<String, String> params, String name, Function<String, V> parser) {
+        String value = params.getFirst(name);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return parser.apply(value.trim());
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new org.example.exception.BadRequestException("Invalid value for parameter '" + name + "'");
+        }
     }
 }
@@ -2,12 +2,17 @@ package org.example.controller;
 
 import org.example.domain.Role;
 import org.example.domain.User;
+import org.example.dto.UserSummary;
 import org.example.service.Implementation.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 @RestController
@@ -23,26 +28,52 @@ public class UserController {
     }
 
     @GetMapping
-    public ResponseEntity<List<User>> getAllUsers() {
-        return ResponseEntity.ok(userService.getAllUsers());
+    public ResponseEntity<List<User>> getAllUsers(WebRequest request) {
+        String etag = ETags.of(userService.collectionVersion());
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(userService.getAllUsers());
+    }
+
+    @GetMapping("/summary")
+    public ResponseEntity<List<UserSummary>> getUserSummaries() {
+        return ResponseEntity.ok(userService.getUserSummaries());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<User> getUserById(@PathVariable Long id) {
-        return ResponseEntity.ok(userService.getUserById(id));
+    public ResponseEntity<User> getUserById(@PathVariable Long id, WebRequest request) {
+        // version columns only; the user and its roles are loaded when the client's copy is stale
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<String> version = userService.findRepresentationVersion(id);
+            if (version.isPresent() && request.checkNotModified(ETags.of(version.get()))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ETags.of(version.get())).build();
+            }
+        }
+        return ETags.ok(userService.getUserById(id));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<User> updateUser(@PathVariable Long id, @RequestBody User user) {
-        return ResponseEntity.ok(userService.updateUser(id, user));
+    public ResponseEntity<User> updateUser(@PathVariable Long id, @RequestBody User user,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expected = ETags.checkIfMatch(ifMatch, () -> userService.findRepresentationVersion(id));
+        ETags.pinVersion(user, expected);
+        return ETags.ok(userService.updateUser(id, user));
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteUser(@PathVariable Long id) {
-        userService.deleteUser(id);
+    public ResponseEntity<Void> deleteUser(@PathVariable Long id,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expected = ETags.checkIfMatch(ifMatch, () -> userService.findRepresentationVersion(id));
+        userService.deleteUser(id, expected);
         return ResponseEntity.noContent().build();
     }
 
+    @GetMapping("/{id}/roles")
+    public ResponseEntity<Set<Role>> getUserRoles(@PathVariable Long id) {
+        return ResponseEntity.ok(userService.getUserRoles(id));
+    }
+
     // Assign roles dynamically
     @PutMapping("/{id}/roles")
     public ResponseEntity<User> assignRoles(@PathVariable Long id, @RequestBody Set<Role> roles) {
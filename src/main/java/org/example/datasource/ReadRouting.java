@@ -0,0 +1,52 @@
+package org.example.datasource;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Keeps read-only work on the primary when read replicas are configured. Read-only transactions
+ * normally go to a replica, which may be a little behind; reads whose result is kept for longer
+ * than a request (caches, in-memory views rebuilt alongside the change events) must not be.
+ * Without replicas this is a no-op.
+ */
+public final class ReadRouting {
+
+    private static final ThreadLocal<Boolean> PRIMARY = new ThreadLocal<>();
+
+    private ReadRouting() {
+    }
+
+    /** Runs the work with every connection it opens taken from the primary */
+    public static <T> T onPrimary(Supplier<T> work) {
+        Boolean previous = PRIMARY.get();
+        PRIMARY.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY.remove();
+            } else {
+                PRIMARY.set(previous);
+            }
+        }
+    }
+
+    /** Read-only transaction template whose transactions always run on the primary */
+    public static TransactionTemplate primaryReadOnly(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager) {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) {
+                return onPrimary(() -> super.execute(action));
+            }
+        };
+        template.setReadOnly(true);
+        return template;
+    }
+
+    static boolean isPinnedToPrimary() {
+        return PRIMARY.get() != null;
+    }
+}
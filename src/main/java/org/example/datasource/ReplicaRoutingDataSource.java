@@ -0,0 +1,262 @@
+package org.example.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.Logging.LogUtils;
+import org.slf4j.Logger;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to read replicas and everything else to the primary. Meant to sit
+ * behind a LazyConnectionDataSourceProxy, so the connection is taken at the first statement, when
+ * the transaction's read-only flag is already known.
+ * <p>
+ * Replicas are polled for replication lag; one that is further behind than max-lag, or that does
+ * not answer, is skipped until it recovers, and with no replica left reads go to the primary.
+ * Read-your-writes: after a committed write, the same user's reads stay on the primary for the
+ * sticky window, and so do the remaining reads of that request. All read-only transactions of one
+ * request use the same replica, so an ETag and the body it describes come from the same copy.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private static final Logger log = LogUtils.getLogger(ReplicaRoutingDataSource.class);
+    // request attributes: index of the replica this request reads from, or PRIMARY after a write
+    private static final String REQUEST_REPLICA = ReplicaRoutingDataSource.class.getName() + ".replica";
+    private static final int PRIMARY = -1;
+
+    public enum Balancing {
+        ROUND_ROBIN,
+        LEAST_CONNECTIONS;
+
+        public static Balancing of(String value) {
+            return valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private enum Route {
+        WRITE,
+        PINNED,
+        STICKY,
+        REPLICA,
+        FALLBACK
+    }
+
+    private static final class Replica {
+        final String name;
+        final HikariDataSource pool;
+        volatile boolean available = true;
+        volatile double lagSeconds;
+
+        Replica(String name, HikariDataSource pool) {
+            this.name = name;
+            this.pool = pool;
+        }
+
+        int activeConnections() {
+            HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+            return mxBean == null ? 0 : mxBean.getActiveConnections();
+        }
+    }
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final Balancing balancing;
+    private final double maxLagSeconds;
+    private final String lagQuery;
+    private final AtomicInteger next = new AtomicInteger();
+    // users who committed a write within the sticky window
+    private final Cache<String, Boolean> recentWriters;
+    private final Map<Route, Counter> routed = new EnumMap<>(Route.class);
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicaPools,
+                                    Balancing balancing, Duration maxLag, Duration stickyWindow,
+                                    String lagQuery, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.balancing = balancing;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.lagQuery = lagQuery;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(stickyWindow)
+                .maximumSize(100_000)
+                .build();
+        for (HikariDataSource pool : replicaPools) {
+            Replica replica = new Replica(pool.getPoolName(), pool);
+            replicas.add(replica);
+            Gauge.builder("taskfodge.datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .tag("replica", replica.name)
+                    .baseUnit("seconds")
+                    .description("Replication lag last measured on the replica")
+                    .register(meterRegistry);
+            Gauge.builder("taskfodge.datasource.replica.available", replica, r -> r.available ? 1 : 0)
+                    .tag("replica", replica.name)
+                    .description("1 while the replica takes reads, 0 while it is down or lagging")
+                    .register(meterRegistry);
+        }
+        for (Route route : Route.values()) {
+            routed.put(route, Counter.builder("taskfodge.datasource.routed")
+                    .tag("target", route == Route.REPLICA ? "replica" : "primary")
+                    .tag("reason", route.name().toLowerCase(Locale.ROOT))
+                    .description("Connections handed out, by the pool they came from and why")
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            recordWrite();
+            return fromPrimary(Route.WRITE);
+        }
+        if (ReadRouting.isPinnedToPrimary()) {
+            return fromPrimary(Route.PINNED);
+        }
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        Integer chosen = request == null ? null : (Integer) request.getAttribute(REQUEST_REPLICA, RequestAttributes.SCOPE_REQUEST);
+        if ((chosen != null && chosen == PRIMARY) || isRecentWriter()) {
+            return fromPrimary(Route.STICKY);
+        }
+        Replica replica = chosen != null && replicas.get(chosen).available ? replicas.get(chosen) : choose();
+        if (replica == null) {
+            return fromPrimary(Route.FALLBACK);
+        }
+        try {
+            Connection connection = replica.pool.getConnection();
+            if (request != null) {
+                request.setAttribute(REQUEST_REPLICA, replicas.indexOf(replica), RequestAttributes.SCOPE_REQUEST);
+            }
+            routed.get(Route.REPLICA).increment();
+            return connection;
+        } catch (SQLException ex) {
+            // taken out until the next lag check finds it answering again
+            replica.available = false;
+            log.warn("Replica {} did not hand out a connection, reading from the primary: {}", replica.name, ex.getMessage());
+            return fromPrimary(Route.FALLBACK);
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        // explicit credentials cannot be routed; the primary pool decides (Hikari answers with an SQLException)
+        return primary.getConnection(username, password);
+    }
+
+    // Measures each replica's lag; unreachable or lagging replicas stop taking reads until they catch up
+    @Scheduled(initialDelayString = "${taskfodge.datasource.replica.check-interval:PT1S}",
+            fixedDelayString = "${taskfodge.datasource.replica.check-interval:PT1S}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean wasAvailable = replica.available;
+            try (Connection connection = replica.pool.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(Math.max(1, (int) Math.ceil(maxLagSeconds)));
+                try (ResultSet rs = statement.executeQuery(lagQuery)) {
+                    rs.next();
+                    replica.lagSeconds = rs.getDouble(1);
+                }
+                replica.available = replica.lagSeconds <= maxLagSeconds;
+                if (wasAvailable && !replica.available) {
+                    log.warn("Replica {} is {}s behind, reading from the others until it catches up",
+                            replica.name, replica.lagSeconds);
+                }
+            } catch (SQLException ex) {
+                replica.available = false;
+                if (wasAvailable) {
+                    log.warn("Replica {} is unreachable, reading from the others: {}", replica.name, ex.getMessage());
+                }
+            }
+            if (!wasAvailable && replica.available) {
+                log.info("Replica {} is back, lag {}s", replica.name, replica.lagSeconds);
+            }
+        }
+    }
+
+    public void close() {
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    private Connection fromPrimary(Route route) throws SQLException {
+        routed.get(route).increment();
+        return primary.getConnection();
+    }
+
+    private Replica choose() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        Replica best = null;
+        for (int i = 0; i < size; i++) {
+            Replica candidate = replicas.get((start + i) % size);
+            if (!candidate.available) {
+                continue;
+            }
+            if (balancing == Balancing.ROUND_ROBIN) {
+                return candidate;
+            }
+            if (best == null || candidate.activeConnections() < best.activeConnections()) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    // Any read-write transaction counts: once it commits, this user and this request read from the primary
+    private void recordWrite() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        String user = currentUser();
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (user == null && request == null) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                if (user != null) {
+                    recentWriters.put(user, Boolean.TRUE);
+                }
+                if (request != null) {
+                    request.setAttribute(REQUEST_REPLICA, PRIMARY, RequestAttributes.SCOPE_REQUEST);
+                }
+            }
+        });
+    }
+
+    private boolean isRecentWriter() {
+        String user = currentUser();
+        return user != null && recentWriters.getIfPresent(user) != null;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
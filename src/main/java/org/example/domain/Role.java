@@ -1,25 +1,49 @@
 package org.example.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.*;
+import org.example.cache.TableVersionListener;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.Set;
 
 @Entity
+@EntityListeners(TableVersionListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class Role {
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})   // role references are serialized as plain roles
+public class Role implements Versioned {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "role_seq")
+    @SequenceGenerator(name = "role_seq", sequenceName = "role_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false)
     private String name;
 
+    // Optimistic lock and ETag source; existing rows start at 0 when the column is added
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    // not serialized: roles are cached detached, and User -> roles -> users would recurse
+    @JsonIgnore
     @ManyToMany(mappedBy = "roles")
     private Set<User> users;
-}
\ No newline at end of file
+
+    // Detached copy of the columns only, so snapshots embedding it never touch a session
+    public Role snapshot() {
+        return Role.builder()
+                .id(getId())
+                .name(getName())
+                .version(getVersion())
+                .build();
+    }
+}
@@ -1,21 +1,42 @@
 package org.example.domain;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.example.cache.TableVersionListener;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
+import java.util.Objects;
 
 @Entity
+@EntityListeners(TableVersionListener.class)   // list ETags (TableVersions)
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
-public class Task {
+@Builder(toBuilder = true)
+@NamedEntityGraph(
+        name = Task.WITH_ASSIGNEE,
+        attributeNodes = @NamedAttributeNode(value = "assignedTo", subgraph = "assignee"),
+        subgraphs = @NamedSubgraph(name = "assignee", attributeNodes = @NamedAttributeNode("roles"))
+)
+// composite indexes back the filtered listing (TaskSpecifications): equality columns first, the deadline range last
+@Table(indexes = {
+        @Index(name = "idx_task_deadline", columnList = "deadline"),
+        @Index(name = "idx_task_assignee_status_deadline", columnList = "assigned_to_id, task_status, deadline"),
+        @Index(name = "idx_task_status_priority", columnList = "task_status, task_priority")
+})
+@DynamicUpdate // UPDATE only the columns that changed
+public class Task implements Versioned {
+
+    public static final String WITH_ASSIGNEE = "Task.withAssignee";
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = 50)
     private Long id;
 
     private String title;
@@ -30,7 +51,39 @@ public class Task {
     private LocalDateTime updatedAt;
     private LocalDateTime deadline;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "assigned_to_id", referencedColumnName = "id")  // <-- reference correct PK
     private User assignedTo;
-}
\ No newline at end of file
+
+    // Optimistic lock; existing rows start at 0 when the column is added
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    // Detached copy, safe to hand to in-memory views after the transaction ends; call inside the transaction
+    public Task snapshot() {
+        return toBuilder()
+                .assignedTo(snapshotAssignee())
+                .build();
+    }
+
+    // The assignee and its roles are embedded; another assignee always comes with a new task version
+    @Override
+    public Long embeddedVersion() {
+        return assignedTo == null ? null
+                : Objects.requireNonNullElse(assignedTo.getVersion(), 0L) + assignedTo.embeddedVersion();
+    }
+
+    // derived from taskStatus, not part of the JSON representation
+    @JsonIgnore
+    public boolean isOpen() {
+        return taskStatus != TaskStatus.COMPLETED;
+    }
+
+    // A reference set from a request's {"id": n} is loaded here (batched with other pending references),
+    // so views and write responses always carry the full assignee with its roles, never an id-only shell
+    private User snapshotAssignee() {
+        return assignedTo == null ? null : assignedTo.snapshot();
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * A COMPLETED task moved out of the task table by the archival job. Rows are only ever
+ * inserted (by SQL, in the same transaction that deletes the task) and read back on request.
+ * On PostgreSQL the table can be range-partitioned by completedAt, see db/task_archive_partitioned.sql.
+ */
+@Entity
+@Immutable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+// archive searches are by completion period, optionally per assignee, newest first
+@Table(name = "task_archive", indexes = {
+        @Index(name = "idx_task_archive_completed", columnList = "completed_at"),
+        @Index(name = "idx_task_archive_assignee_completed", columnList = "assigned_to_id, completed_at")
+})
+public class TaskArchive {
+
+    // the task's own id, kept so references to an archived task still resolve
+    @Id
+    private Long id;
+
+    private String title;
+
+    @Enumerated(EnumType.STRING)
+    private TaskStatus taskStatus;
+
+    @Enumerated(EnumType.STRING)
+    private Priority taskPriority;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime deadline;
+
+    // plain column, no foreign key: archived tasks outlive their assignee
+    @Column(name = "assigned_to_id")
+    private Long assigneeId;
+
+    @Column(nullable = false)
+    private Long version;
+
+    // last change of the COMPLETED task, the partition key
+    @Column(nullable = false)
+    private LocalDateTime completedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -1,32 +1,85 @@
 package org.example.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.*;
+import org.example.cache.TableVersionListener;
+import org.hibernate.annotations.ColumnDefault;
 
+import java.util.HashSet;
+import java.util.Objects;
 import java.util.Set;
 
 @Entity
+@EntityListeners(TableVersionListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "app_user")   // <-- changed table name to avoid reserved keyword
-public class User {
+@Table(name = "app_user",   // <-- changed table name to avoid reserved keyword
+        uniqueConstraints = {
+                @UniqueConstraint(name = User.UK_EMAIL, columnNames = "email"),
+                @UniqueConstraint(name = User.UK_USER_NAME, columnNames = "user_name")
+        })
+@NamedEntityGraph(name = User.WITH_ROLES, attributeNodes = @NamedAttributeNode("roles"))
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})   // lazy proxies are serialized as plain users
+public class User implements Versioned {
+
+    public static final String WITH_ROLES = "User.withRoles";
+    public static final String UK_EMAIL = "uk_app_user_email";
+    public static final String UK_USER_NAME = "uk_app_user_user_name";
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_seq")
+    @SequenceGenerator(name = "user_seq", sequenceName = "user_seq", allocationSize = 50)
     private Long id;
 
     private String userName;
     private String email;
     private String password;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
             name = "user_roles",
             joinColumns = @JoinColumn(name = "user_id"),
             inverseJoinColumns = @JoinColumn(name = "role_id")
     )
     private Set<Role> roles;
+
+    // Optimistic lock and ETag source; existing rows start at 0 when the column is added
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    // Roles are embedded: membership changes bump this user's version, renames the role's. With the
+    // membership fixed by the user version, the sum only grows, so it tells any two states apart
+    @Override
+    public Long embeddedVersion() {
+        long sum = 0;
+        for (Role role : roles == null ? Set.<Role>of() : roles) {
+            sum += Objects.requireNonNullElse(role.getVersion(), 0L);
+        }
+        return sum;
+    }
+
+    // Detached copy without credentials, used inside task snapshots; roles are copied too, since a
+    // reference set by assignRoles is an uninitialized proxy
+    public User snapshot() {
+        Set<Role> roleCopies = null;
+        if (getRoles() != null) {
+            roleCopies = new HashSet<>();
+            for (Role role : getRoles()) {
+                roleCopies.add(role.snapshot());
+            }
+        }
+        return User.builder()
+                .id(getId())
+                .userName(getUserName())
+                .email(getEmail())
+                .roles(roleCopies)
+                .version(getVersion())
+                .build();
+    }
 }
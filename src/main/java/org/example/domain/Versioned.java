@@ -0,0 +1,25 @@
+package org.example.domain;
+
+/**
+ * Entities with an optimistic-lock version; the version, together with the versions of the rows
+ * embedded in the entity's JSON, is the HTTP ETag.
+ */
+public interface Versioned {
+    Long getId();
+    Long getVersion();
+    void setVersion(Long version);
+
+    /** Versions of the rows embedded in the JSON representation folded into one number, null when it embeds none */
+    default Long embeddedVersion() {
+        return null;
+    }
+
+    /** The entity ETag value: "version" or "version.embeddedVersion" */
+    default String representationVersion() {
+        return representationVersion(getVersion(), embeddedVersion());
+    }
+
+    static String representationVersion(Long version, Long embeddedVersion) {
+        return embeddedVersion == null ? String.valueOf(version) : version + "." + embeddedVersion;
+    }
+}
@@ -0,0 +1,30 @@
+package org.example.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a keyset (cursor) paginated listing.
+ * Pages are ordered by id; pass {@code nextCursor} back to get the following page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CursorPage<T> {
+
+    /** Entities on this page, ascending by id */
+    private List<T> items;
+
+    /** Requested page size */
+    private int size;
+
+    /** Opaque cursor for the next page, null when this is the last page */
+    private String nextCursor;
+}
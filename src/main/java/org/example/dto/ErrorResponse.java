@@ -8,11 +8,11 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.example.Logging.TraceId;
 
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
 
 /**
  * Generic, extensible API error response model.
@@ -41,7 +41,7 @@ public class ErrorResponse {
     /** Request path */
     private String path;
 
-    /** Unique trace identifier for debugging */
+    /** Trace id of the request (also in the X-Trace-Id header and the logs) */
     private String traceId;
 
     /** Application or microservice that threw the error */
@@ -61,7 +61,7 @@ public class ErrorResponse {
                 .error(status.getReason())
                 .message(message)
                 .path(path)
-                .traceId(UUID.randomUUID().toString())
+                .traceId(TraceId.current())
                 .service("TaskFodge") // can be injected from config
                 .build();
     }
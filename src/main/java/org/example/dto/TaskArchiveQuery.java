@@ -0,0 +1,30 @@
+package org.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Search over archived tasks (GET /api/tasks/archive); unset fields do not restrict the result.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskArchiveQuery {
+
+    /** Case-insensitive substring of the title */
+    private String title;
+
+    /** Id of the user the task was assigned to */
+    private Long assigneeId;
+
+    /** Completed at or after this instant; a bounded period only touches the matching partitions */
+    private LocalDateTime completedFrom;
+
+    /** Completed strictly before this instant */
+    private LocalDateTime completedBefore;
+}
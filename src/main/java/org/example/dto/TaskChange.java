@@ -0,0 +1,15 @@
+package org.example.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.example.domain.Task;
+
+/**
+ * Data of one task change feed event.
+ *
+ * @param type   created, updated, deleted, or left (the task no longer matches the subscription's filter)
+ * @param taskId id of the changed task
+ * @param task   the task after the change; absent for deleted and left
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TaskChange(String type, Long taskId, Task task) {
+}
@@ -0,0 +1,30 @@
+package org.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.domain.Priority;
+import org.example.domain.TaskStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filter for GET /api/tasks; unset fields do not restrict the result.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskFilter {
+
+    private TaskStatus status;
+
+    private Priority priority;
+
+    /** Id of the assigned user */
+    private Long assigneeId;
+
+    /** Only tasks due strictly before this instant */
+    private LocalDateTime deadlineBefore;
+}
@@ -0,0 +1,13 @@
+package org.example.dto;
+
+import org.example.domain.Priority;
+import org.example.domain.TaskStatus;
+
+/**
+ * Title search result, served from the in-memory search index.
+ */
+public record TaskSearchHit(Long id,
+                            String title,
+                            TaskStatus taskStatus,
+                            Priority taskPriority) {
+}
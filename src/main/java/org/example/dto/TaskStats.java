@@ -0,0 +1,17 @@
+package org.example.dto;
+
+import java.util.Map;
+
+/**
+ * Dashboard task counts, served from in-memory counters.
+ *
+ * @param byStatusAndPriority status -> priority -> count; tasks without a status or priority are under "UNSET",
+ *                            a key that is present even at zero
+ * @param byAssignee          assignee user id -> count, users with no tasks are omitted
+ */
+public record TaskStats(long total,
+                        long overdue,
+                        long unassigned,
+                        Map<String, Map<String, Long>> byStatusAndPriority,
+                        Map<Long, Long> byAssignee) {
+}
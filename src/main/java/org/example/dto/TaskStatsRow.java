@@ -0,0 +1,16 @@
+package org.example.dto;
+
+import org.example.domain.Priority;
+import org.example.domain.TaskStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns the task stats counters are built from.
+ */
+public record TaskStatsRow(Long id,
+                           TaskStatus taskStatus,
+                           Priority taskPriority,
+                           Long assigneeId,
+                           LocalDateTime deadline) {
+}
@@ -0,0 +1,12 @@
+package org.example.dto;
+
+import org.example.domain.Priority;
+import org.example.domain.TaskStatus;
+
+/**
+ * A queued status and/or priority transition; a null field leaves that column unchanged.
+ */
+public record TaskStatusUpdate(Long id,
+                               TaskStatus taskStatus,
+                               Priority taskPriority) {
+}
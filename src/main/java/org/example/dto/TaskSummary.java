@@ -0,0 +1,18 @@
+package org.example.dto;
+
+import org.example.domain.Priority;
+import org.example.domain.TaskStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight task row for list views: one flat query, no entity graph.
+ */
+public record TaskSummary(Long id,
+                          String title,
+                          TaskStatus taskStatus,
+                          Priority taskPriority,
+                          LocalDateTime deadline,
+                          Long assigneeId,
+                          String assigneeName) {
+}
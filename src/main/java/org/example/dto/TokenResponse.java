@@ -0,0 +1,22 @@
+package org.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TokenResponse {
+
+    /** Signed JWT, send as "Authorization: Bearer &lt;token&gt;" */
+    private String accessToken;
+
+    /** Always "Bearer" */
+    private String tokenType;
+
+    /** Seconds until the token expires */
+    private long expiresIn;
+}
@@ -0,0 +1,7 @@
+package org.example.dto;
+
+/**
+ * The unique identifying columns of a user, as returned by the uniqueness check.
+ */
+public record UserIdentity(Long id, String email, String userName) {
+}
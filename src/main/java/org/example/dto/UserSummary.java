@@ -0,0 +1,7 @@
+package org.example.dto;
+
+/**
+ * Lightweight user row for list views, without credentials or roles.
+ */
+public record UserSummary(Long id, String userName, String email) {
+}
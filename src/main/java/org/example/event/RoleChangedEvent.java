@@ -0,0 +1,31 @@
+package org.example.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.example.domain.Role;
+
+/**
+ * Published by RoleService when a role is renamed or deleted, for views that embed the roles
+ * of a task's assignee.
+ */
+@Getter
+@AllArgsConstructor
+public class RoleChangedEvent {
+
+    private final Long roleId;
+
+    /** Detached copy of the role after the change, null when it was deleted */
+    private final Role role;
+
+    public static RoleChangedEvent updated(Role role) {
+        return new RoleChangedEvent(role.getId(), role.snapshot());
+    }
+
+    public static RoleChangedEvent deleted(Long roleId) {
+        return new RoleChangedEvent(roleId, null);
+    }
+
+    public boolean isRemoval() {
+        return role == null;
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.example.domain.Task;
+import org.example.domain.TaskStatus;
+
+/**
+ * Published by TaskService for every task write. Listeners that maintain
+ * in-memory views should use @TransactionalEventListener so they only
+ * observe committed changes.
+ */
+@Getter
+@AllArgsConstructor
+public class TaskChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        // moved to task_archive; a removal for every view of the task table
+        ARCHIVED
+    }
+
+    /** Assignee and status of a task before an update, what filtered views need to tell whether it left them */
+    public record Previous(Long assigneeId, TaskStatus status) {
+
+        public static Previous of(Task task) {
+            return new Previous(task.getAssignedTo() == null ? null : task.getAssignedTo().getId(), task.getTaskStatus());
+        }
+    }
+
+    private final Type type;
+
+    private final Long taskId;
+
+    /** Detached copy of the task after the change, null for removals */
+    private final Task task;
+
+    /** State before an update, null for other changes or when the writer did not know it */
+    private final Previous previous;
+
+    public static TaskChangedEvent created(Task task) {
+        return new TaskChangedEvent(Type.CREATED, task.getId(), task.snapshot(), null);
+    }
+
+    public static TaskChangedEvent updated(Task task) {
+        return updated(task, null);
+    }
+
+    public static TaskChangedEvent updated(Task task, Previous previous) {
+        return new TaskChangedEvent(Type.UPDATED, task.getId(), task.snapshot(), previous);
+    }
+
+    public static TaskChangedEvent deleted(Long taskId) {
+        return new TaskChangedEvent(Type.DELETED, taskId, null, null);
+    }
+
+    public static TaskChangedEvent archived(Long taskId) {
+        return new TaskChangedEvent(Type.ARCHIVED, taskId, null, null);
+    }
+
+    public boolean isRemoval() {
+        return task == null;
+    }
+}
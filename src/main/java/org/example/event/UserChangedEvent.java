@@ -0,0 +1,21 @@
+package org.example.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.example.domain.User;
+
+/**
+ * Published by UserService when a user's profile or roles change. Views that embed users
+ * (the assignee inside task snapshots) replace their copy once the change commits.
+ */
+@Getter
+@AllArgsConstructor
+public class UserChangedEvent {
+
+    /** Detached copy of the user after the change, without credentials */
+    private final User user;
+
+    public static UserChangedEvent updated(User user) {
+        return new UserChangedEvent(user.snapshot());
+    }
+}
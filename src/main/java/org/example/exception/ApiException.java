@@ -3,4 +3,9 @@ package org.example.exception;
 public abstract class ApiException extends RuntimeException {
     public ApiException(String message) { super(message); }
     public ApiException(String message, Throwable cause) { super(message, cause); }
+
+    // Expected errors (4xx, and 503s shedding load) skip fillInStackTrace; the handler never logs their trace
+    protected ApiException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
 }
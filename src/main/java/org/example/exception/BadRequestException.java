@@ -1,5 +1,5 @@
 package org.example.exception;
 
 public class BadRequestException extends ApiException {
-    public BadRequestException(String message) { super(message); }
+    public BadRequestException(String message) { super(message, false); }
 }
@@ -1,5 +1,5 @@
 package org.example.exception;
 
 public class ConflictException extends ApiException {
-    public ConflictException(String message) { super(message); }
+    public ConflictException(String message) { super(message, false); }
 }
@@ -1,6 +1,6 @@
 package org.example.exception;
 
 public class ForbiddenException extends ApiException {
-    public ForbiddenException(String message) { super(message); }
+    public ForbiddenException(String message) { super(message, false); }
 }
 
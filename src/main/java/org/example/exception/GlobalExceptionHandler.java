@@ -1,9 +1,14 @@
 package org.example.exception;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.Logging.TraceId;
 import org.example.dto.ErrorResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -14,7 +19,9 @@ import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
+import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.ConstraintViolationException;
 import java.time.Instant;
 import java.util.*;
@@ -25,12 +32,22 @@ public class GlobalExceptionHandler {
 
     private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     private ErrorResponse buildErrorResponse(HttpStatus status, String message, WebRequest request,
                                              List<ErrorResponse.FieldError> fieldErrors, Exception ex) {
         String path = (request instanceof ServletWebRequest)
                 ? ((ServletWebRequest) request).getRequest().getRequestURI()
                 : "N/A";
-        String traceId = UUID.randomUUID().toString();
+        String traceId = TraceId.current();
+        meterRegistry.counter("taskfodge.errors",
+                "exception", ex.getClass().getSimpleName(),
+                "status", String.valueOf(status.value())).increment();
 
         ErrorResponse body = ErrorResponse.builder()
                 .timestamp(Instant.now())
@@ -43,8 +60,12 @@ public class GlobalExceptionHandler {
                 .service("TaskFodge") // could be injected via config
                 .build();
 
-        // Logging strategy
-        if (status.is5xxServerError()) {
+        // Logging strategy; a shed request is expected under overload and has no useful stack
+        if (status == HttpStatus.SERVICE_UNAVAILABLE) {
+            log.warn("TraceID={} | Path={} | Status={} {} | Exception={} | Message={}",
+                    traceId, path, status.value(), status.getReasonPhrase(),
+                    ex.getClass().getSimpleName(), message);
+        } else if (status.is5xxServerError()) {
             log.error("TraceID={} | Path={} | Status={} {} | Exception={} | Message={}",
                     traceId, path, status.value(), status.getReasonPhrase(),
                     ex.getClass().getSimpleName(), message, ex);
@@ -98,6 +119,21 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(body);
     }
 
+    // 400 - invalid arguments (request parameters or body values rejected by a service)
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidArgument(BadRequestException ex, WebRequest request) {
+        ErrorResponse body = buildErrorResponse(HttpStatus.BAD_REQUEST, ex.getMessage(), request, null, ex);
+        return ResponseEntity.badRequest().body(body);
+    }
+
+    // 400 - request parameter of the wrong type (e.g. an unknown enum value)
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleTypeMismatch(MethodArgumentTypeMismatchException ex, WebRequest request) {
+        ErrorResponse body = buildErrorResponse(HttpStatus.BAD_REQUEST,
+                "Invalid value for parameter '" + ex.getName() + "'", request, null, ex);
+        return ResponseEntity.badRequest().body(body);
+    }
+
     // 401 - unauthorized
     @ExceptionHandler(UnauthorizedException.class)
     public ResponseEntity<ErrorResponse> handleUnauthorized(UnauthorizedException ex, WebRequest request) {
@@ -126,6 +162,20 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
     }
 
+    // 412 - If-Match did not match the current ETag
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponse> handlePreconditionFailed(PreconditionFailedException ex, WebRequest request) {
+        ErrorResponse body = buildErrorResponse(HttpStatus.PRECONDITION_FAILED, ex.getMessage(), request, null, ex);
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(body);
+    }
+
+    // 409 - concurrent modification (stale @Version)
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLock(OptimisticLockingFailureException ex, WebRequest request) {
+        ErrorResponse body = buildErrorResponse(HttpStatus.CONFLICT, "Resource was modified by another request, reload and retry", request, null, ex);
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+    }
+
     // 409 - DB constraint violations
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ResponseEntity<ErrorResponse> handleDataIntegrity(DataIntegrityViolationException ex, WebRequest request) {
@@ -133,6 +183,13 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
     }
 
+    // 400 - a request referenced a row by id (e.g. assignedTo) that does not exist
+    @ExceptionHandler(EntityNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleMissingReference(EntityNotFoundException ex, WebRequest request) {
+        ErrorResponse body = buildErrorResponse(HttpStatus.BAD_REQUEST, "Referenced entity does not exist", request, null, ex);
+        return ResponseEntity.badRequest().body(body);
+    }
+
     // 405 - method not allowed
     @ExceptionHandler(HttpRequestMethodNotSupportedException.class)
     public ResponseEntity<ErrorResponse> handleMethodNotAllowed(HttpRequestMethodNotSupportedException ex, WebRequest request) {
@@ -140,6 +197,15 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.METHOD_NOT_ALLOWED).body(body);
     }
 
+    // 503 - admission control shed the request, or an in-memory index is still loading
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleServiceUnavailable(ServiceUnavailableException ex, WebRequest request) {
+        ErrorResponse body = buildErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), request, null, ex);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(body);
+    }
+
     // 500 - fallback
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleAll(Exception ex, WebRequest request) {
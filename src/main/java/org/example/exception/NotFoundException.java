@@ -1,6 +1,6 @@
 package org.example.exception;
 
 public class NotFoundException extends ApiException {
-    public NotFoundException(String message) { super(message); }
+    public NotFoundException(String message) { super(message, false); }
 }
 
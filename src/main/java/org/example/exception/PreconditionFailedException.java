@@ -0,0 +1,5 @@
+package org.example.exception;
+
+public class PreconditionFailedException extends ApiException {
+    public PreconditionFailedException(String message) { super(message, false); }
+}
@@ -0,0 +1,5 @@
+package org.example.exception;
+
+public class ServiceUnavailableException extends ApiException {
+    public ServiceUnavailableException(String message) { super(message, false); }
+}
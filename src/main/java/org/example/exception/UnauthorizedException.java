@@ -1,5 +1,5 @@
 package org.example.exception;
 
 public class UnauthorizedException extends ApiException {
-    public UnauthorizedException(String message) { super(message); }
+    public UnauthorizedException(String message) { super(message, false); }
 }
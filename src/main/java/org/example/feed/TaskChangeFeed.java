@@ -0,0 +1,299 @@
+package org.example.feed;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.example.Logging.LogUtils;
+import org.example.domain.Task;
+import org.example.domain.TaskStatus;
+import org.example.dto.TaskChange;
+import org.example.event.TaskChangedEvent;
+import org.example.exception.ServiceUnavailableException;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Server-Sent Events feed of committed task changes. Each change is encoded once and appended
+ * to a fixed-size ring buffer after its transaction commits. A subscriber is only a cursor into
+ * that buffer, drained on a virtual thread when changes arrive (one drain at a time), so a slow
+ * client holds back nobody but itself; one that falls a whole buffer behind is sent a reset and
+ * moved to the head. Idle subscribers hold no thread at all (async servlet). Event ids are
+ * "epoch-sequence", so a reconnect with Last-Event-ID resumes where it stopped while that point
+ * is still buffered, and is told to reset otherwise.
+ */
+@Component
+public class TaskChangeFeed {
+
+    private static final Logger log = LogUtils.getLogger(TaskChangeFeed.class);
+    private static final String RESET = "reset";
+    private static final String LEFT = "left";
+
+    /** Server-side subscription filter; null fields match every task */
+    public record Filter(Long assigneeId, TaskStatus status) {
+
+        boolean matches(Task task) {
+            return matches(task.getAssignedTo() == null ? null : task.getAssignedTo().getId(), task.getTaskStatus());
+        }
+
+        boolean matches(Long taskAssignee, TaskStatus taskStatus) {
+            return (assigneeId == null || assigneeId.equals(taskAssignee))
+                    && (status == null || status == taskStatus);
+        }
+
+        boolean isEmpty() {
+            return assigneeId == null && status == null;
+        }
+    }
+
+    // leftJson is only set for updates, the one change that can move a task out of a filtered view
+    private record Change(long sequence, String name, Task task, String json, String leftJson,
+                          TaskChangedEvent.Previous previous) {
+
+        // a task can only leave a view it was in; without the previous state, assume it was
+        boolean left(Filter filter) {
+            return leftJson != null && (previous == null || filter.matches(previous.assigneeId(), previous.status()));
+        }
+    }
+
+    private final class Subscriber {
+        final SseEmitter emitter;
+        final Filter filter;
+        final AtomicBoolean scheduled = new AtomicBoolean();
+        volatile boolean closed;
+        // only touched by the draining thread
+        long cursor;
+        String resetReason;
+
+        Subscriber(SseEmitter emitter, Filter filter, long cursor, String resetReason) {
+            this.emitter = emitter;
+            this.filter = filter;
+            this.cursor = cursor;
+            this.resetReason = resetReason;
+        }
+
+        void schedule() {
+            if (!closed && scheduled.compareAndSet(false, true)) {
+                delivery.execute(this::drain);
+            }
+        }
+
+        void drain() {
+            try {
+                do {
+                    if (resetReason != null) {
+                        sendReset(resetReason);
+                        resetReason = null;
+                    }
+                    long upTo = head;
+                    while (cursor < upTo && !closed) {
+                        Change change = ring[slot(cursor + 1)];
+                        if (change == null || change.sequence() != cursor + 1) {
+                            // overwritten before this subscriber got to it
+                            resets.increment();
+                            cursor = head;
+                            sendReset("behind");
+                            break;
+                        }
+                        cursor = change.sequence();
+                        deliver(change);
+                    }
+                    scheduled.set(false);
+                    // a change appended after the last look at head must not wait for the next one
+                } while (!closed && cursor < head && scheduled.compareAndSet(false, true));
+            } catch (IOException | IllegalStateException ex) {
+                // client went away (or the emitter completed); the servlet container cleans up the request
+                close();
+            }
+        }
+
+        void heartbeat() {
+            try {
+                emitter.send(SseEmitter.event().comment("keepalive"));
+            } catch (IOException | IllegalStateException ex) {
+                close();
+            }
+        }
+
+        void close() {
+            closed = true;
+            subscribers.remove(this);
+        }
+
+        private void deliver(Change change) throws IOException {
+            String json;
+            String name;
+            if (filter.isEmpty() || change.task() == null || filter.matches(change.task())) {
+                json = change.json();
+                name = change.name();
+            } else if (change.left(filter)) {
+                json = change.leftJson();
+                name = LEFT;
+            } else {
+                return;
+            }
+            emitter.send(SseEmitter.event().id(eventId(change.sequence())).name(name)
+                    .data(json, MediaType.APPLICATION_JSON));
+            sent.increment();
+        }
+
+        private void sendReset(String reason) throws IOException {
+            emitter.send(SseEmitter.event().id(eventId(cursor)).name(RESET)
+                    .data(Map.of("reason", reason), MediaType.APPLICATION_JSON));
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+    private final Change[] ring;
+    private final long timeoutMillis;
+    private final int maxSubscribers;
+    // distinguishes this process's sequence numbers from those handed out before a restart
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService delivery = Executors.newVirtualThreadPerTaskExecutor();
+    private final Counter sent;
+    private final Counter resets;
+    // sequence of the newest buffered change; written under the ring's monitor, after the slot
+    private volatile long head;
+
+    @Autowired
+    public TaskChangeFeed(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                          @Value("${taskfodge.feed.buffer-size:4096}") int bufferSize,
+                          @Value("${taskfodge.feed.timeout:PT30M}") Duration timeout,
+                          @Value("${taskfodge.feed.max-subscribers:10000}") int maxSubscribers) {
+        this.objectMapper = objectMapper;
+        this.ring = new Change[bufferSize];
+        this.timeoutMillis = timeout.toMillis();
+        this.maxSubscribers = maxSubscribers;
+        this.sent = Counter.builder("taskfodge.feed.events")
+                .description("Change events written to feed subscribers")
+                .register(meterRegistry);
+        this.resets = Counter.builder("taskfodge.feed.resets")
+                .description("Subscribers that fell a whole buffer behind and were told to refetch")
+                .register(meterRegistry);
+        Gauge.builder("taskfodge.feed.subscribers", subscribers, Set::size)
+                .description("Open task change feed connections")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a subscription. Without Last-Event-ID it starts with the next change; with one it
+     * replays the buffered changes after it, or starts with a reset event when they are gone.
+     */
+    public SseEmitter subscribe(Filter filter, String lastEventId) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ServiceUnavailableException("Too many change feed subscribers, please retry");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        long current = head;
+        long cursor = current;
+        String resetReason = null;
+        if (lastEventId != null) {
+            long resumeAfter = parseEventId(lastEventId);
+            if (resumeAfter < 0 || resumeAfter > current) {
+                resetReason = "unknown";
+            } else if (current - resumeAfter > ring.length) {
+                resetReason = "expired";
+            } else {
+                cursor = resumeAfter;
+            }
+        }
+        Subscriber subscriber = new Subscriber(emitter, filter, cursor, resetReason);
+        emitter.onCompletion(subscriber::close);
+        emitter.onError(ex -> subscriber.close());
+        // the client reconnects with Last-Event-ID
+        emitter.onTimeout(emitter::complete);
+        subscribers.add(subscriber);
+        subscriber.schedule();
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        String name = event.getType().name().toLowerCase(Locale.ROOT);
+        String json = encode(new TaskChange(name, event.getTaskId(), event.getTask()));
+        String leftJson = event.getType() == TaskChangedEvent.Type.UPDATED
+                ? encode(new TaskChange(LEFT, event.getTaskId(), null)) : null;
+        synchronized (ring) {
+            long sequence = head + 1;
+            ring[slot(sequence)] = new Change(sequence, name, event.getTask(), json, leftJson, event.getPrevious());
+            head = sequence;
+        }
+        subscribers.forEach(Subscriber::schedule);
+    }
+
+    // Keeps proxies from closing idle streams and finds subscribers whose connection is gone
+    @Scheduled(initialDelayString = "${taskfodge.feed.heartbeat-interval:PT15S}",
+            fixedDelayString = "${taskfodge.feed.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        subscribers.forEach(subscriber -> delivery.execute(subscriber::heartbeat));
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> {
+            subscriber.closed = true;
+            try {
+                subscriber.emitter.complete();
+            } catch (IllegalStateException ex) {
+                // the container already recycled the response
+            }
+        });
+        subscribers.clear();
+        delivery.shutdown();
+        log.info("Task change feed closed");
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence % ring.length);
+    }
+
+    private String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    // -1 for ids this process did not issue (malformed, or from before a restart)
+    private long parseEventId(String id) {
+        int dash = id.lastIndexOf('-');
+        if (dash < 0 || !Objects.equals(id.substring(0, dash), epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(id.substring(dash + 1));
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+
+    private String encode(TaskChange change) {
+        try {
+            return objectMapper.writeValueAsString(change);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
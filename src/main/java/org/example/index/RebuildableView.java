@@ -0,0 +1,102 @@
+package org.example.index;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * The state of an in-memory view kept current from committed changes, and the rebuild protocol the
+ * views share: a rebuild loads a new state off to the side while the current one keeps serving,
+ * changes committed meanwhile are applied to the current state and logged, and the log is replayed
+ * onto the new state before it is swapped in. The swap and the replay run under the write lock.
+ * Changes run under the read lock when the state tolerates concurrent writers, else under the write lock.
+ */
+final class RebuildableView<S> {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Lock changeLock;
+    private final AtomicBoolean building = new AtomicBoolean();
+    // changes committed while a new state is being loaded, replayed onto it before it is published
+    private final Queue<Consumer<S>> pending = new ConcurrentLinkedQueue<>();
+    private volatile S current;
+    private volatile boolean ready;
+
+    RebuildableView(S initial, boolean concurrentChanges) {
+        this.current = initial;
+        this.changeLock = concurrentChanges ? lock.readLock() : lock.writeLock();
+    }
+
+    /** True once the first build has been published */
+    boolean isReady() {
+        return ready;
+    }
+
+    /** The published state, for reads that are safe against concurrent changes */
+    S current() {
+        return current;
+    }
+
+    /** Reads the published state with changes held off, for states that are not safe to read concurrently */
+    <T> T read(Function<S, T> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.apply(current);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Applies a change to the current state, and remembers it for a build in progress */
+    void apply(Consumer<S> change) {
+        changeLock.lock();
+        try {
+            change.accept(current);
+            if (building.get()) {
+                pending.add(change);
+            }
+        } finally {
+            changeLock.unlock();
+        }
+    }
+
+    /** False when another build is already running; otherwise changes are logged from now on */
+    boolean beginBuild() {
+        lock.writeLock().lock();
+        try {
+            return building.compareAndSet(false, true);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Replays the changes logged during the build onto the new state and swaps it in */
+    void publish(S built) {
+        lock.writeLock().lock();
+        try {
+            Consumer<S> change;
+            while ((change = pending.poll()) != null) {
+                change.accept(built);
+            }
+            current = built;
+            building.set(false);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Ends a failed build; the current state already has every change, only the log is dropped */
+    void abortBuild() {
+        lock.writeLock().lock();
+        try {
+            pending.clear();
+            building.set(false);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package org.example.index;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.example.Logging.LogUtils;
+import org.example.datasource.ReadRouting;
+import org.example.domain.Role;
+import org.example.domain.Task;
+import org.example.domain.User;
+import org.example.event.RoleChangedEvent;
+import org.example.event.TaskChangedEvent;
+import org.example.event.UserChangedEvent;
+import org.example.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Time-ordered in-memory index of open tasks that have a deadline.
+ * Built at startup, kept current from committed task, user and role
+ * change events and periodically verified against the database. Until the first build
+ * completes callers should fall back to the database (see isReady()).
+ * A rebuild loads new maps off to the side and swaps them in (RebuildableView),
+ * so readers keep seeing the previous, complete index meanwhile.
+ */
+@Component
+public class TaskDeadlineIndex {
+
+    private static final Logger log = LogUtils.getLogger(TaskDeadlineIndex.class);
+    private static final int CLEAR_EVERY = 1_000;
+
+    private record Key(LocalDateTime deadline, long id) implements Comparable<Key> {
+        @Override
+        public int compareTo(Key other) {
+            int c = deadline.compareTo(other.deadline);
+            return c != 0 ? c : Long.compare(id, other.id);
+        }
+    }
+
+    private static final class Entries {
+        final ConcurrentSkipListMap<Key, Task> byDeadline = new ConcurrentSkipListMap<>();
+        final ConcurrentHashMap<Long, Key> keysById = new ConcurrentHashMap<>();
+
+        void put(Task task) {
+            if (task.getDeadline() == null || !task.isOpen()) {
+                remove(task.getId());
+                return;
+            }
+            Key key = new Key(task.getDeadline(), task.getId());
+            keysById.compute(task.getId(), (id, previous) -> {
+                if (previous != null && !previous.equals(key)) {
+                    byDeadline.remove(previous);
+                }
+                byDeadline.put(key, task);
+                return key;
+            });
+        }
+
+        void remove(Long taskId) {
+            keysById.computeIfPresent(taskId, (id, previous) -> {
+                byDeadline.remove(previous);
+                return null;
+            });
+        }
+
+        // Replaces the assignee of every entry the function changes. User and role edits are rare next to
+        // task writes, so they scan the entries rather than keep a reverse map by assignee
+        void updateAssignees(UnaryOperator<User> update) {
+            for (Key key : byDeadline.keySet()) {
+                keysById.computeIfPresent(key.id(), (id, current) -> {
+                    Task task = byDeadline.get(current);
+                    User assignee = task == null ? null : task.getAssignedTo();
+                    User updated = assignee == null ? null : update.apply(assignee);
+                    if (updated != assignee) {
+                        byDeadline.put(current, task.toBuilder().assignedTo(updated).build());
+                    }
+                    return current;
+                });
+            }
+        }
+    }
+
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate readOnlyTx;
+    private final Timer rebuildTimer;
+    private final Counter driftCounter;
+    private final AtomicLong lastRebuildMillis = new AtomicLong();
+
+    // concurrent maps updated per task id, so changes apply concurrently
+    private final RebuildableView<Entries> view = new RebuildableView<>(new Entries(), true);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public TaskDeadlineIndex(TaskRepository taskRepository, PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry) {
+        this.taskRepository = taskRepository;
+        this.readOnlyTx = ReadRouting.primaryReadOnly(transactionManager);
+        this.rebuildTimer = Timer.builder("taskfodge.deadline.index.rebuild")
+                .description("Time to rebuild the deadline index from the database")
+                .register(meterRegistry);
+        this.driftCounter = Counter.builder("taskfodge.deadline.index.drift")
+                .description("Index entries found inconsistent with the database during verification")
+                .register(meterRegistry);
+        Gauge.builder("taskfodge.deadline.index.size", this, TaskDeadlineIndex::size)
+                .description("Open tasks with a deadline held in the index")
+                .register(meterRegistry);
+        Gauge.builder("taskfodge.deadline.index.last.rebuild", lastRebuildMillis, AtomicLong::get)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return view.isReady();
+    }
+
+    public int size() {
+        return view.current().keysById.size();
+    }
+
+    // Open tasks with from <= deadline <= to, ordered by deadline
+    public List<Task> findDueBetween(LocalDateTime from, LocalDateTime to) {
+        return new ArrayList<>(view.current().byDeadline.subMap(new Key(from, Long.MIN_VALUE), true,
+                new Key(to, Long.MAX_VALUE), true).values());
+    }
+
+    public void put(Task task) {
+        view.apply(e -> e.put(task));
+    }
+
+    public void remove(Long taskId) {
+        view.apply(e -> e.remove(taskId));
+    }
+
+    // before cached responses built from the index are invalidated (ResponseCache)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.isRemoval()) {
+            remove(event.getTaskId());
+        } else {
+            put(event.getTask());
+        }
+    }
+
+    // Entries embed the assignee with its roles. The version checks keep a change replayed onto
+    // freshly loaded maps from overwriting a newer copy
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onUserChanged(UserChangedEvent event) {
+        User user = event.getUser();
+        view.apply(e -> e.updateAssignees(assignee -> Objects.equals(assignee.getId(), user.getId())
+                && version(assignee) <= version(user) ? user : assignee));
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onRoleChanged(RoleChangedEvent event) {
+        view.apply(e -> e.updateAssignees(assignee -> withRole(assignee, event)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuild();
+    }
+
+    // Loads new maps while the current ones keep serving; changes committed meanwhile are replayed onto them
+    public void rebuild() {
+        if (!view.beginBuild()) {
+            return;
+        }
+        log.info("Rebuilding deadline index");
+        long start = System.nanoTime();
+        try {
+            Entries built = readOnlyTx.execute(status -> {
+                Entries loaded = new Entries();
+                try (Stream<Task> tasks = taskRepository.streamOpenWithDeadline()) {
+                    Iterator<Task> it = tasks.iterator();
+                    int n = 0;
+                    while (it.hasNext()) {
+                        loaded.put(it.next().snapshot());
+                        if (++n % CLEAR_EVERY == 0) {
+                            entityManager.clear();
+                        }
+                    }
+                }
+                return loaded;
+            });
+            view.publish(built);
+            long elapsed = System.nanoTime() - start;
+            rebuildTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            lastRebuildMillis.set(elapsed / 1_000_000);
+            log.info("Deadline index rebuilt with {} tasks in {} ms", built.keysById.size(), elapsed / 1_000_000);
+        } catch (RuntimeException ex) {
+            view.abortBuild();
+            log.error("Deadline index rebuild failed, will retry on the next verification", ex);
+        }
+    }
+
+    // Streams the open tasks from the database and compares them with the index, rebuilding on drift
+    @Scheduled(initialDelayString = "${taskfodge.deadline-index.verify-interval:PT15M}",
+            fixedDelayString = "${taskfodge.deadline-index.verify-interval:PT15M}")
+    public void verify() {
+        if (!view.isReady()) {
+            rebuild();
+            return;
+        }
+        Entries current = view.current();
+        long drift = readOnlyTx.execute(status -> {
+            long mismatches = 0;
+            long dbCount = 0;
+            try (Stream<Task> tasks = taskRepository.streamOpenWithDeadline()) {
+                Iterator<Task> it = tasks.iterator();
+                while (it.hasNext()) {
+                    Task task = it.next();
+                    Key key = current.keysById.get(task.getId());
+                    Task indexed = key == null ? null : current.byDeadline.get(key);
+                    // the representation version covers the task, its assignee and the assignee's roles
+                    if (indexed == null || !Objects.equals(key.deadline(), task.getDeadline())
+                            || !indexed.representationVersion().equals(task.representationVersion())) {
+                        mismatches++;
+                    }
+                    if (++dbCount % CLEAR_EVERY == 0) {
+                        entityManager.clear();
+                    }
+                }
+            }
+            return mismatches + Math.max(0, current.keysById.size() - dbCount);
+        });
+        if (drift > 0) {
+            driftCounter.increment(drift);
+            log.warn("Deadline index drifted from database by {} entries, rebuilding", drift);
+            rebuild();
+        } else {
+            log.debug("Deadline index verified, size={}", size());
+        }
+    }
+
+    // The assignee with the changed role replaced (or dropped, when deleted); the same object when it lacks the role
+    private static User withRole(User assignee, RoleChangedEvent event) {
+        if (assignee.getRoles() == null) {
+            return assignee;
+        }
+        Set<Role> roles = new HashSet<>();
+        boolean changed = false;
+        for (Role role : assignee.getRoles()) {
+            if (!Objects.equals(role.getId(), event.getRoleId())) {
+                roles.add(role);
+            } else if (event.isRemoval()) {
+                changed = true;
+            } else if (version(role.getVersion()) <= version(event.getRole().getVersion())) {
+                roles.add(event.getRole());
+                changed = true;
+            } else {
+                roles.add(role);
+            }
+        }
+        if (!changed) {
+            return assignee;
+        }
+        User updated = assignee.snapshot();
+        updated.setRoles(roles);
+        return updated;
+    }
+
+    private static long version(User user) {
+        return version(user.getVersion());
+    }
+
+    private static long version(Long version) {
+        return Objects.requireNonNullElse(version, 0L);
+    }
+}
@@ -0,0 +1,507 @@
+package org.example.index;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.example.Logging.LogUtils;
+import org.example.datasource.ReadRouting;
+import org.example.domain.Priority;
+import org.example.domain.Task;
+import org.example.domain.TaskStatus;
+import org.example.dto.TaskSearchHit;
+import org.example.event.TaskChangedEvent;
+import org.example.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index over task titles for search and typeahead.
+ * Titles are split into lower-cased terms and every term is also posted under
+ * its edge n-grams (leading prefixes), so each query word matches by prefix.
+ * Posting lists are int arrays of dense document numbers in insertion order:
+ * an update retires the old document and appends a new one, which keeps every
+ * list sorted, and compaction drops retired documents once they pile up.
+ * Built at startup by loading id ranges in parallel and kept current from
+ * committed TaskChangedEvents, replayed onto new segments (RebuildableView). Until the first build completes callers should
+ * not query it (see isReady()).
+ */
+@Component
+public class TaskSearchIndex {
+
+    private static final Logger log = LogUtils.getLogger(TaskSearchIndex.class);
+    private static final byte RETIRED = -1;
+    private static final int MAX_TERMS_PER_TITLE = 64;
+    private static final int MIN_RETIRED_TO_COMPACT = 10_000;
+    private static final long MIN_ROWS_PER_LOAD = 50_000;
+
+    // Growable, ascending list of document numbers
+    private static final class Postings {
+        private int[] docs = new int[2];
+        private int size;
+
+        void add(int doc) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size + (size >> 1) + 1);
+            }
+            docs[size++] = doc;
+        }
+
+        void addAll(Postings other, int offset) {
+            if (size + other.size > docs.length) {
+                docs = Arrays.copyOf(docs, size + other.size);
+            }
+            for (int i = 0; i < other.size; i++) {
+                docs[size++] = other.docs[i] + offset;
+            }
+        }
+
+        boolean contains(int doc) {
+            return Arrays.binarySearch(docs, 0, size, doc) >= 0;
+        }
+    }
+
+    // One generation of the index; mutated only under the write lock (or before it is published)
+    private static final class Segment {
+        private final int maxGram;
+        private final Map<String, Postings> terms = new HashMap<>();
+        private final Map<String, Postings> prefixes = new HashMap<>();
+        private final Map<Long, Integer> docsById = new HashMap<>();
+        private long[] ids = new long[16];
+        private String[] titles = new String[16];
+        private byte[] statuses = new byte[16];
+        private byte[] priorities = new byte[16];
+        private int size;
+        private int retired;
+
+        Segment(int maxGram) {
+            this.maxGram = maxGram;
+        }
+
+        int live() {
+            return size - retired;
+        }
+
+        void put(TaskSearchHit row) {
+            remove(row.id());
+            int doc = append(row);
+            docsById.put(row.id(), doc);
+            Set<String> grams = new HashSet<>();
+            for (String term : tokenize(row.title())) {
+                terms.computeIfAbsent(term, t -> new Postings()).add(doc);
+                for (int len = 1; len <= Math.min(term.length(), maxGram); len++) {
+                    grams.add(term.substring(0, len));
+                }
+            }
+            for (String gram : grams) {
+                prefixes.computeIfAbsent(gram, g -> new Postings()).add(doc);
+            }
+        }
+
+        void remove(Long taskId) {
+            Integer doc = docsById.remove(taskId);
+            if (doc != null) {
+                statuses[doc] = RETIRED;
+                titles[doc] = null;
+                retired++;
+            }
+        }
+
+        // Appends a segment holding other task ids; document numbers are shifted past ours
+        void appendAll(Segment other) {
+            int offset = size;
+            ensureCapacity(size + other.size);
+            System.arraycopy(other.ids, 0, ids, offset, other.size);
+            System.arraycopy(other.titles, 0, titles, offset, other.size);
+            System.arraycopy(other.statuses, 0, statuses, offset, other.size);
+            System.arraycopy(other.priorities, 0, priorities, offset, other.size);
+            size += other.size;
+            retired += other.retired;
+            other.terms.forEach((term, p) -> terms.computeIfAbsent(term, t -> new Postings()).addAll(p, offset));
+            other.prefixes.forEach((gram, p) -> prefixes.computeIfAbsent(gram, g -> new Postings()).addAll(p, offset));
+            other.docsById.forEach((id, doc) -> docsById.put(id, doc + offset));
+        }
+
+        List<TaskSearchHit> liveRows() {
+            List<TaskSearchHit> rows = new ArrayList<>(live());
+            for (int doc = 0; doc < size; doc++) {
+                if (statuses[doc] != RETIRED) {
+                    rows.add(hit(doc));
+                }
+            }
+            return rows;
+        }
+
+        /**
+         * Documents matching every word by prefix, newest first. Scoring: 2 per word that is
+         * a whole term of the title, 1 per prefix-only match, +1 when the title starts with
+         * the first word. Stops once limit documents reach the best reachable score or after
+         * maxCandidates documents have been examined.
+         */
+        List<TaskSearchHit> search(List<String> words, TaskStatus status, Priority priority,
+                                   int limit, int maxCandidates) {
+            int n = words.size();
+            Postings[] lists = new Postings[n];
+            Postings[] exact = new Postings[n];
+            int driver = 0;
+            // highest score any document can still reach: leading word, plus 2 per word that is an indexed term
+            int bestScore = 1;
+            for (int i = 0; i < n; i++) {
+                String word = words.get(i);
+                lists[i] = prefixes.get(word.length() > maxGram ? word.substring(0, maxGram) : word);
+                if (lists[i] == null) {
+                    return List.of();
+                }
+                exact[i] = terms.get(word);
+                bestScore += exact[i] != null ? 2 : 1;
+                if (lists[i].size < lists[driver].size) {
+                    driver = i;
+                }
+            }
+            byte wantStatus = code(status);
+            byte wantPriority = code(priority);
+
+            int[] cursors = new int[n];
+            for (int i = 0; i < n; i++) {
+                cursors[i] = lists[i].size - 1;
+            }
+            int[] topDocs = new int[limit];
+            int[] topScores = new int[limit];
+            int found = 0;
+            int perfect = 0;
+            int examined = 0;
+
+            // walk the shortest list from the newest document down, advancing the others in step
+            scan:
+            for (int k = lists[driver].size - 1; k >= 0 && examined < maxCandidates; k--) {
+                int doc = lists[driver].docs[k];
+                for (int i = 0; i < n; i++) {
+                    if (i == driver) {
+                        continue;
+                    }
+                    int[] docs = lists[i].docs;
+                    int c = cursors[i];
+                    while (c >= 0 && docs[c] > doc) {
+                        c--;
+                    }
+                    cursors[i] = c;
+                    if (c < 0) {
+                        break scan;
+                    }
+                    if (docs[c] != doc) {
+                        continue scan;
+                    }
+                }
+                if (statuses[doc] == RETIRED) {
+                    continue;
+                }
+                examined++;
+                if ((wantStatus != 0 && statuses[doc] != wantStatus)
+                        || (wantPriority != 0 && priorities[doc] != wantPriority)) {
+                    continue;
+                }
+                int score = score(doc, words, exact);
+                if (score < 0) {
+                    continue;
+                }
+                // ties keep the earlier (newer) document ahead
+                if (found < limit || score > topScores[found - 1]) {
+                    int pos = Math.min(found, limit - 1);
+                    while (pos > 0 && topScores[pos - 1] < score) {
+                        topDocs[pos] = topDocs[pos - 1];
+                        topScores[pos] = topScores[pos - 1];
+                        pos--;
+                    }
+                    topDocs[pos] = doc;
+                    topScores[pos] = score;
+                    found = Math.min(found + 1, limit);
+                }
+                if (score == bestScore && ++perfect >= limit) {
+                    break;
+                }
+            }
+
+            List<TaskSearchHit> hits = new ArrayList<>(found);
+            for (int i = 0; i < found; i++) {
+                hits.add(hit(topDocs[i]));
+            }
+            return hits;
+        }
+
+        // -1 when a word longer than maxGram turns out not to prefix any term of the title
+        private int score(int doc, List<String> words, Postings[] exact) {
+            int score = 0;
+            Set<String> titleTerms = null;
+            for (int i = 0; i < words.size(); i++) {
+                String word = words.get(i);
+                if (exact[i] != null && exact[i].contains(doc)) {
+                    score += 2;
+                    continue;
+                }
+                if (word.length() > maxGram) {
+                    if (titleTerms == null) {
+                        titleTerms = tokenize(titles[doc]);
+                    }
+                    if (titleTerms.stream().noneMatch(term -> term.startsWith(word))) {
+                        return -1;
+                    }
+                }
+                score += 1;
+            }
+            return startsWithWord(titles[doc], words.get(0)) ? score + 1 : score;
+        }
+
+        private TaskSearchHit hit(int doc) {
+            return new TaskSearchHit(ids[doc], titles[doc],
+                    statuses[doc] == 0 ? null : TaskStatus.values()[statuses[doc] - 1],
+                    priorities[doc] == 0 ? null : Priority.values()[priorities[doc] - 1]);
+        }
+
+        private int append(TaskSearchHit row) {
+            ensureCapacity(size + 1);
+            ids[size] = row.id();
+            titles[size] = row.title();
+            statuses[size] = code(row.taskStatus());
+            priorities[size] = code(row.taskPriority());
+            return size++;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > ids.length) {
+                int grown = Math.max(capacity, ids.length + (ids.length >> 1));
+                ids = Arrays.copyOf(ids, grown);
+                titles = Arrays.copyOf(titles, grown);
+                statuses = Arrays.copyOf(statuses, grown);
+                priorities = Arrays.copyOf(priorities, grown);
+            }
+        }
+    }
+
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate readOnlyTx;
+    private final int maxGram;
+    private final int maxCandidates;
+    private final int loadThreads;
+    private final Timer rebuildTimer;
+    private final Timer searchTimer;
+
+    // segments are plain maps and arrays: changes apply under the write lock, searches under the read lock
+    private final RebuildableView<Segment> view;
+
+    @Autowired
+    public TaskSearchIndex(TaskRepository taskRepository, PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${taskfodge.search.max-gram:12}") int maxGram,
+                           @Value("${taskfodge.search.max-candidates:20000}") int maxCandidates,
+                           @Value("${taskfodge.search.load-threads:4}") int loadThreads) {
+        this.taskRepository = taskRepository;
+        this.readOnlyTx = ReadRouting.primaryReadOnly(transactionManager);
+        this.maxGram = maxGram;
+        this.maxCandidates = maxCandidates;
+        this.loadThreads = Math.max(1, loadThreads);
+        this.view = new RebuildableView<>(new Segment(maxGram), false);
+        this.rebuildTimer = Timer.builder("taskfodge.search.index.rebuild")
+                .description("Time to build the task search index, from the database or by compaction")
+                .register(meterRegistry);
+        this.searchTimer = Timer.builder("taskfodge.search.query")
+                .description("Time to answer a title search from the index")
+                .register(meterRegistry);
+        Gauge.builder("taskfodge.search.index.documents", this, index -> index.view.current().live())
+                .description("Tasks held in the search index")
+                .register(meterRegistry);
+        Gauge.builder("taskfodge.search.index.retired", this, index -> index.view.current().retired)
+                .description("Superseded documents awaiting compaction")
+                .register(meterRegistry);
+        Gauge.builder("taskfodge.search.index.terms", this, index -> index.view.current().prefixes.size())
+                .description("Distinct indexed prefixes")
+                .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return view.isReady();
+    }
+
+    public int size() {
+        return view.current().live();
+    }
+
+    // Ranked matches for every word of the query, optionally restricted to a status and/or priority
+    public List<TaskSearchHit> search(String query, TaskStatus status, Priority priority, int limit) {
+        List<String> words = new ArrayList<>(tokenize(query));
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        long start = System.nanoTime();
+        try {
+            return view.read(current -> current.search(words, status, priority, limit, maxCandidates));
+        } finally {
+            searchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        view.apply(current -> apply(current, event));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuild();
+    }
+
+    // Loads the task table in id ranges, one read-only transaction and pooled connection per range
+    public void rebuild() {
+        if (!view.beginBuild()) {
+            return;
+        }
+        log.info("Rebuilding task search index");
+        long start = System.nanoTime();
+        try {
+            long maxId = readOnlyTx.execute(status -> taskRepository.findMaxId());
+            int ranges = (int) Math.min(loadThreads, maxId / MIN_ROWS_PER_LOAD + 1);
+            long span = maxId / ranges + 1;
+            List<Callable<Segment>> loads = new ArrayList<>(ranges);
+            for (int i = 0; i < ranges; i++) {
+                long after = i * span;
+                long upTo = Math.min(maxId, after + span);
+                loads.add(() -> readOnlyTx.execute(status -> {
+                    Segment part = new Segment(maxGram);
+                    try (Stream<TaskSearchHit> rows = taskRepository.streamSearchRows(after, upTo)) {
+                        rows.forEach(part::put);
+                    }
+                    return part;
+                }));
+            }
+            publish(buildParallel(loads), start);
+        } catch (RuntimeException ex) {
+            view.abortBuild();
+            log.error("Task search index rebuild failed, will retry", ex);
+        }
+    }
+
+    // Rebuilds from the live documents in memory once retired ones outnumber them; also retries a failed first build
+    @Scheduled(initialDelayString = "${taskfodge.search.compact-interval:PT1M}",
+            fixedDelayString = "${taskfodge.search.compact-interval:PT1M}")
+    public void compact() {
+        if (!view.isReady()) {
+            rebuild();
+            return;
+        }
+        Segment current = view.current();
+        if (current.retired < MIN_RETIRED_TO_COMPACT || current.retired < current.live() || !view.beginBuild()) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            List<TaskSearchHit> rows = view.read(Segment::liveRows);
+            int slices = Math.max(1, Math.min(loadThreads, rows.size() / 10_000));
+            int sliceSize = rows.size() / slices + 1;
+            List<Callable<Segment>> builds = new ArrayList<>(slices);
+            for (int from = 0; from < rows.size(); from += sliceSize) {
+                List<TaskSearchHit> slice = rows.subList(from, Math.min(rows.size(), from + sliceSize));
+                builds.add(() -> {
+                    Segment part = new Segment(maxGram);
+                    slice.forEach(part::put);
+                    return part;
+                });
+            }
+            publish(buildParallel(builds), start);
+        } catch (RuntimeException ex) {
+            view.abortBuild();
+            log.error("Task search index compaction failed", ex);
+        }
+    }
+
+    // Builds the parts concurrently and concatenates them in order, which keeps posting lists sorted
+    private Segment buildParallel(List<Callable<Segment>> parts) {
+        Segment merged = new Segment(maxGram);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Future<Segment> part : executor.invokeAll(parts)) {
+                merged.appendAll(part.get());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while building the search index", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Search index build failed", ex.getCause());
+        }
+        return merged;
+    }
+
+    private void publish(Segment built, long start) {
+        view.publish(built);
+        long elapsed = System.nanoTime() - start;
+        rebuildTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("Task search index built with {} tasks, {} prefixes in {} ms",
+                built.live(), built.prefixes.size(), elapsed / 1_000_000);
+    }
+
+    private static void apply(Segment target, TaskChangedEvent event) {
+        if (event.isRemoval()) {
+            target.remove(event.getTaskId());
+        } else {
+            Task task = event.getTask();
+            target.put(new TaskSearchHit(task.getId(), task.getTitle(), task.getTaskStatus(), task.getTaskPriority()));
+        }
+    }
+
+    // Lower-cased runs of letters and digits, de-duplicated in order of appearance
+    static Set<String> tokenize(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (text == null) {
+            return terms;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int i = 0;
+        int n = lower.length();
+        while (i < n && terms.size() < MAX_TERMS_PER_TITLE) {
+            while (i < n && !Character.isLetterOrDigit(lower.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < n && Character.isLetterOrDigit(lower.charAt(i))) {
+                i++;
+            }
+            if (i > start) {
+                terms.add(lower.substring(start, i));
+            }
+        }
+        return terms;
+    }
+
+    private static boolean startsWithWord(String title, String word) {
+        int i = 0;
+        while (i < title.length() && !Character.isLetterOrDigit(title.charAt(i))) {
+            i++;
+        }
+        return title.regionMatches(true, i, word, 0, word.length());
+    }
+
+    private static byte code(Enum<?> value) {
+        return value == null ? 0 : (byte) (value.ordinal() + 1);
+    }
+}
@@ -0,0 +1,345 @@
+package org.example.index;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.example.Logging.LogUtils;
+import org.example.datasource.ReadRouting;
+import org.example.domain.Priority;
+import org.example.domain.Task;
+import org.example.domain.TaskStatus;
+import org.example.dto.TaskStats;
+import org.example.dto.TaskStatsRow;
+import org.example.event.TaskChangedEvent;
+import org.example.reminder.DeadlineReminder;
+import org.example.reminder.DeadlineReminderListener;
+import org.example.reminder.ReminderType;
+import org.example.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Task counts by status x priority, by assignee and overdue, held in LongAdders so the
+ * dashboard never reads the task table. Built at startup, adjusted from committed
+ * TaskChangedEvents (the last known state of each task is kept to undo its previous
+ * contribution), moved to overdue by the reminder wheel's OVERDUE milestone, and
+ * periodically reconciled against GROUP BY counts, rebuilding on drift.
+ */
+@Component
+public class TaskStatsCounters implements DeadlineReminderListener {
+
+    private static final Logger log = LogUtils.getLogger(TaskStatsCounters.class);
+    private static final String UNSET = "UNSET";
+    // the last slot of each dimension counts tasks with no status / priority
+    private static final int STATUSES = TaskStatus.values().length + 1;
+    private static final int PRIORITIES = Priority.values().length + 1;
+    // reminders fire up to a tick late; tasks that fell due this recently may not be counted as overdue yet
+    private static final Duration OVERDUE_GRACE = Duration.ofSeconds(10);
+
+    // What the counters know about one task, enough to take back its contribution on the next change
+    private record Facts(TaskStatus status, Priority priority, Long assigneeId, LocalDateTime deadline, boolean overdue) {
+
+        static Facts of(TaskStatus status, Priority priority, Long assigneeId, LocalDateTime deadline, LocalDateTime now) {
+            boolean open = status != TaskStatus.COMPLETED;
+            return new Facts(status, priority, assigneeId, deadline, open && deadline != null && deadline.isBefore(now));
+        }
+
+        boolean open() {
+            return status != TaskStatus.COMPLETED;
+        }
+    }
+
+    private static final class Counters {
+        final LongAdder[] cells = new LongAdder[STATUSES * PRIORITIES];
+        final ConcurrentHashMap<Long, LongAdder> byAssignee = new ConcurrentHashMap<>();
+        final LongAdder unassigned = new LongAdder();
+        final LongAdder overdue = new LongAdder();
+        final ConcurrentHashMap<Long, Facts> facts = new ConcurrentHashMap<>();
+
+        Counters() {
+            for (int i = 0; i < cells.length; i++) {
+                cells[i] = new LongAdder();
+            }
+        }
+
+        // null facts remove the task; replaying a change that is already applied leaves the counts as they are
+        void apply(Long taskId, Facts next) {
+            facts.compute(taskId, (id, previous) -> {
+                if (previous != null) {
+                    add(previous, -1);
+                }
+                if (next != null) {
+                    add(next, 1);
+                }
+                return next;
+            });
+        }
+
+        // only if the task still has the deadline the milestone was scheduled for
+        void markOverdue(Long taskId, LocalDateTime deadline) {
+            facts.computeIfPresent(taskId, (id, current) -> {
+                if (current.overdue() || !current.open() || !Objects.equals(current.deadline(), deadline)) {
+                    return current;
+                }
+                overdue.increment();
+                return new Facts(current.status(), current.priority(), current.assigneeId(), current.deadline(), true);
+            });
+        }
+
+        long total() {
+            long total = 0;
+            for (LongAdder cell : cells) {
+                total += cell.sum();
+            }
+            return total;
+        }
+
+        long[] cellSums() {
+            long[] sums = new long[cells.length];
+            for (int i = 0; i < cells.length; i++) {
+                sums[i] = cells[i].sum();
+            }
+            return sums;
+        }
+
+        Map<Long, Long> assigneeSums() {
+            Map<Long, Long> sums = new HashMap<>();
+            byAssignee.forEach((id, count) -> {
+                long sum = count.sum();
+                if (sum != 0) {
+                    sums.put(id, sum);
+                }
+            });
+            return sums;
+        }
+
+        private void add(Facts f, int delta) {
+            cells[cell(f.status(), f.priority())].add(delta);
+            if (f.assigneeId() == null) {
+                unassigned.add(delta);
+            } else {
+                byAssignee.computeIfAbsent(f.assigneeId(), id -> new LongAdder()).add(delta);
+            }
+            if (f.overdue()) {
+                overdue.add(delta);
+            }
+        }
+    }
+
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate readOnlyTx;
+    private final Timer rebuildTimer;
+    private final Counter reconciled;
+    private final Counter reconcileSkipped;
+    private final Counter driftCounter;
+
+    // adders and concurrent maps, so changes apply concurrently
+    private final RebuildableView<Counters> view = new RebuildableView<>(new Counters(), true);
+    // bumped on every change, so reconciliation can tell whether writes overlapped its queries
+    private final AtomicLong changes = new AtomicLong();
+
+    @Autowired
+    public TaskStatsCounters(TaskRepository taskRepository, PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry) {
+        this.taskRepository = taskRepository;
+        this.readOnlyTx = ReadRouting.primaryReadOnly(transactionManager);
+        this.rebuildTimer = Timer.builder("taskfodge.stats.rebuild")
+                .description("Time to load the task stats counters from the database")
+                .register(meterRegistry);
+        this.reconciled = Counter.builder("taskfodge.stats.reconcile")
+                .tag("outcome", "checked")
+                .description("Reconciliations of the task stats counters against the database")
+                .register(meterRegistry);
+        this.reconcileSkipped = Counter.builder("taskfodge.stats.reconcile")
+                .tag("outcome", "skipped")
+                .description("Reconciliations of the task stats counters against the database")
+                .register(meterRegistry);
+        this.driftCounter = Counter.builder("taskfodge.stats.drift")
+                .description("Reconciliations that found the counters out of step with the database")
+                .register(meterRegistry);
+        for (TaskStatus status : TaskStatus.values()) {
+            for (Priority priority : Priority.values()) {
+                int cell = cell(status, priority);
+                Gauge.builder("taskfodge.stats.tasks", this, stats -> stats.view.current().cells[cell].sum())
+                        .tag("status", status.name())
+                        .tag("priority", priority.name())
+                        .description("Tasks by status and priority")
+                        .register(meterRegistry);
+            }
+        }
+        Gauge.builder("taskfodge.stats.overdue", this, stats -> stats.view.current().overdue.sum())
+                .description("Open tasks past their deadline")
+                .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return view.isReady();
+    }
+
+    // Sums the adders; cost depends on the number of assignees, not tasks
+    public TaskStats snapshot() {
+        Counters current = view.current();
+        return new TaskStats(current.total(), current.overdue.sum(), current.unassigned.sum(),
+                byStatusAndPriority(current.cellSums()), current.assigneeSums());
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.isRemoval()) {
+            record(c -> c.apply(event.getTaskId(), null));
+            return;
+        }
+        Task task = event.getTask();
+        Facts facts = Facts.of(task.getTaskStatus(), task.getTaskPriority(),
+                task.getAssignedTo() == null ? null : task.getAssignedTo().getId(), task.getDeadline(),
+                LocalDateTime.now());
+        record(c -> c.apply(event.getTaskId(), facts));
+    }
+
+    // Open tasks become overdue without a write; the OVERDUE milestone of the reminder wheel moves them
+    @Override
+    public void onReminder(DeadlineReminder reminder) {
+        if (reminder.type() == ReminderType.OVERDUE) {
+            Task task = reminder.task();
+            record(c -> c.markOverdue(task.getId(), task.getDeadline()));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        if (!view.beginBuild()) {
+            return;
+        }
+        log.info("Rebuilding task stats counters");
+        long start = System.nanoTime();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            Counters built = readOnlyTx.execute(status -> {
+                Counters loaded = new Counters();
+                try (Stream<TaskStatsRow> rows = taskRepository.streamStatsRows()) {
+                    rows.forEach(row -> loaded.apply(row.id(), Facts.of(row.taskStatus(), row.taskPriority(),
+                            row.assigneeId(), row.deadline(), now)));
+                }
+                return loaded;
+            });
+            view.publish(built);
+            long elapsed = System.nanoTime() - start;
+            rebuildTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            log.info("Task stats counters built for {} tasks in {} ms", built.total(), elapsed / 1_000_000);
+        } catch (RuntimeException ex) {
+            view.abortBuild();
+            log.error("Task stats counters rebuild failed, will retry", ex);
+        }
+    }
+
+    // Compares the counters with GROUP BY counts; retries a failed first build
+    @Scheduled(initialDelayString = "${taskfodge.stats.reconcile-interval:PT10M}",
+            fixedDelayString = "${taskfodge.stats.reconcile-interval:PT10M}")
+    public void reconcile() {
+        if (!view.isReady()) {
+            rebuild();
+            return;
+        }
+        long changesBefore = changes.get();
+        Counters current = view.current();
+        long[] cells = current.cellSums();
+        Map<Long, Long> assignees = current.assigneeSums();
+        long unassigned = current.unassigned.sum();
+        long overdue = current.overdue.sum();
+
+        LocalDateTime now = LocalDateTime.now();
+        long[] dbCells = new long[cells.length];
+        Map<Long, Long> dbAssignees = new HashMap<>();
+        long[] dbUnassigned = new long[1];
+        long[] dbOverdue = readOnlyTx.execute(status -> {
+            for (Object[] row : taskRepository.countByStatusAndPriority()) {
+                dbCells[cell((TaskStatus) row[0], (Priority) row[1])] += (Long) row[2];
+            }
+            for (Object[] row : taskRepository.countByAssignee()) {
+                if (row[0] == null) {
+                    dbUnassigned[0] = (Long) row[1];
+                } else {
+                    dbAssignees.put((Long) row[0], (Long) row[1]);
+                }
+            }
+            return new long[]{taskRepository.countOpenDueBefore(now.minus(OVERDUE_GRACE)),
+                    taskRepository.countOpenDueBefore(now)};
+        });
+
+        // a write that committed while the queries ran makes the comparison meaningless; try again next time
+        if (changes.get() != changesBefore) {
+            reconcileSkipped.increment();
+            log.debug("Task stats reconciliation skipped, tasks changed while counting");
+            return;
+        }
+        reconciled.increment();
+        boolean drifted = !Arrays.equals(cells, dbCells) || !assignees.equals(dbAssignees)
+                || unassigned != dbUnassigned[0] || overdue < dbOverdue[0] || overdue > dbOverdue[1];
+        if (drifted) {
+            driftCounter.increment();
+            log.warn("Task stats counters drifted from database (total {} vs {}, overdue {} vs {}), rebuilding",
+                    sum(cells), sum(dbCells), overdue, dbOverdue[1]);
+            rebuild();
+        } else {
+            log.debug("Task stats counters verified, total={}", sum(cells));
+        }
+    }
+
+    private void record(Consumer<Counters> change) {
+        view.apply(change);
+        changes.incrementAndGet();
+    }
+
+    private static int cell(TaskStatus status, Priority priority) {
+        int s = status == null ? STATUSES - 1 : status.ordinal();
+        int p = priority == null ? PRIORITIES - 1 : priority.ordinal();
+        return s * PRIORITIES + p;
+    }
+
+    // Every status x priority combination including UNSET, zero or not, so clients always see the same keys
+    private static Map<String, Map<String, Long>> byStatusAndPriority(long[] cells) {
+        Map<String, Map<String, Long>> result = new LinkedHashMap<>();
+        for (int s = 0; s < STATUSES; s++) {
+            Map<String, Long> row = new LinkedHashMap<>();
+            for (int p = 0; p < PRIORITIES; p++) {
+                row.put(p < PRIORITIES - 1 ? Priority.values()[p].name() : UNSET, cells[s * PRIORITIES + p]);
+            }
+            result.put(s < STATUSES - 1 ? TaskStatus.values()[s].name() : UNSET, row);
+        }
+        return result;
+    }
+
+    private static long sum(long[] values) {
+        long total = 0;
+        for (long value : values) {
+            total += value;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,149 @@
+package org.example.index;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.Logging.LogUtils;
+import org.example.datasource.ReadRouting;
+import org.example.dto.UserIdentity;
+import org.example.repository.UserRepository;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Bloom-filter prefilter over registered emails and usernames. When both
+ * values are definitely unknown, UserService skips the uniqueness query and
+ * relies on the unique indexes alone. A missed insert only costs a skipped
+ * pre-check, never a duplicate, so the filter does not need to be exact.
+ */
+@Component
+public class UserRegistrationFilter {
+
+    private static final Logger log = LogUtils.getLogger(UserRegistrationFilter.class);
+
+    /** What the filter can tell about a registration's email and username */
+    public enum Verdict {
+        // neither value is registered, the uniqueness query can be skipped
+        NEW,
+        // a value may be registered; when the query then finds no row, the filter hit was a false positive
+        MIGHT_EXIST,
+        // disabled or not built yet, so the query is needed and its outcome says nothing about the filter
+        UNKNOWN
+    }
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnlyTx;
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    private final Counter checked;
+
+    private volatile BloomFilter emails;
+    private volatile BloomFilter userNames;
+    private volatile boolean ready;
+
+    @Autowired
+    public UserRegistrationFilter(UserRepository userRepository, PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${taskfodge.user-bloom.enabled:true}") boolean enabled,
+                                  @Value("${taskfodge.user-bloom.expected-insertions:1000000}") long expectedInsertions,
+                                  @Value("${taskfodge.user-bloom.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.readOnlyTx = ReadRouting.primaryReadOnly(transactionManager);
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+
+        this.checked = Counter.builder("taskfodge.user.bloom.checks")
+                .tag("outcome", "queried")
+                .description("Registrations that needed the uniqueness query")
+                .register(meterRegistry);
+        FunctionCounter.builder("taskfodge.user.bloom.checks", skipped, LongAdder::sum)
+                .tag("outcome", "skipped")
+                .description("Registrations the filter proved new, no uniqueness query issued")
+                .register(meterRegistry);
+        FunctionCounter.builder("taskfodge.user.bloom.false.positives", falsePositives, LongAdder::sum)
+                .description("Filter hits where the uniqueness query found no conflict")
+                .register(meterRegistry);
+        Gauge.builder("taskfodge.user.bloom.false.positive.rate", this, UserRegistrationFilter::observedFalsePositiveRate)
+                .description("Observed false-positive rate: false positives / (false positives + skipped)")
+                .register(meterRegistry);
+        Gauge.builder("taskfodge.user.bloom.expected.false.positive.rate", this, UserRegistrationFilter::expectedFalsePositiveRate)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        long size = Math.max(expectedInsertions, userRepository.count() * 2);
+        BloomFilter newEmails = BloomFilter.create(size, falsePositiveRate);
+        BloomFilter newUserNames = BloomFilter.create(size, falsePositiveRate);
+        readOnlyTx.executeWithoutResult(status -> {
+            try (Stream<UserIdentity> identities = userRepository.streamIdentities()) {
+                identities.forEach(identity -> {
+                    newEmails.put(identity.email());
+                    newUserNames.put(identity.userName());
+                });
+            }
+        });
+        emails = newEmails;
+        userNames = newUserNames;
+        ready = true;
+        log.info("User registration filter rebuilt with {} users in {} ms",
+                newEmails.approximateInsertions(), System.currentTimeMillis() - start);
+    }
+
+    public Verdict check(String email, String userName) {
+        if (!enabled || !ready) {
+            return Verdict.UNKNOWN;
+        }
+        if (emails.mightContain(email) || userNames.mightContain(userName)) {
+            checked.increment();
+            return Verdict.MIGHT_EXIST;
+        }
+        skipped.increment();
+        return Verdict.NEW;
+    }
+
+    public void add(String email, String userName) {
+        if (!enabled || !ready) {
+            return;
+        }
+        emails.put(email);
+        userNames.put(userName);
+    }
+
+    // Only a MIGHT_EXIST verdict the query disproved counts; UNKNOWN ones never consulted the filter
+    public void recordFalsePositive(Verdict verdict) {
+        if (verdict == Verdict.MIGHT_EXIST) {
+            falsePositives.increment();
+        }
+    }
+
+    private double observedFalsePositiveRate() {
+        long fp = falsePositives.sum();
+        long negatives = fp + skipped.sum();
+        return negatives == 0 ? 0 : (double) fp / negatives;
+    }
+
+    private double expectedFalsePositiveRate() {
+        BloomFilter current = emails;
+        return current == null ? 0 : current.expectedFalsePositiveRate();
+    }
+}
@@ -0,0 +1,256 @@
+package org.example.ingest;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.example.Logging.LogUtils;
+import org.example.dto.TaskStatusUpdate;
+import org.example.exception.BadRequestException;
+import org.example.exception.ServiceUnavailableException;
+import org.example.service.Implementation.TaskService;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind buffer for high-frequency status and priority transitions. Accepted updates are
+ * merged per task id, so only the latest value of each field survives, and written through
+ * TaskService.applyStatusUpdates in batches: every flush interval, or as soon as a batch worth is
+ * pending. Memory is bounded by max-pending distinct tasks; past that, requests are refused with
+ * 503 until a flush catches up. Pending updates are flushed on shutdown; a crash loses at most
+ * the updates accepted since the last flush.
+ */
+@Component
+public class TaskUpdateCoalescer {
+
+    private static final Logger log = LogUtils.getLogger(TaskUpdateCoalescer.class);
+    private static final int SHUTDOWN_FLUSH_ATTEMPTS = 3;
+
+    private final ConcurrentHashMap<Long, TaskStatusUpdate> pending = new ConcurrentHashMap<>();
+    private final TaskService taskService;
+    private final int batchSize;
+    private final int maxPending;
+    private final int maxRequestItems;
+    // one flush at a time; updates that arrive meanwhile wait for the next pass
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ExecutorService flusher = Executors.newVirtualThreadPerTaskExecutor();
+    private volatile boolean accepting = true;
+
+    private final Counter accepted;
+    private final Counter coalesced;
+    private final Counter rejected;
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter failures;
+    private final Timer flushTimer;
+    private final DistributionSummary batchSizes;
+
+    @Autowired
+    public TaskUpdateCoalescer(TaskService taskService, MeterRegistry meterRegistry,
+                               @Value("${taskfodge.ingest.batch-size:500}") int batchSize,
+                               @Value("${taskfodge.ingest.max-pending:100000}") int maxPending,
+                               @Value("${taskfodge.bulk.max-items:10000}") int maxRequestItems) {
+        this.taskService = taskService;
+        this.batchSize = batchSize;
+        this.maxPending = maxPending;
+        this.maxRequestItems = maxRequestItems;
+        this.accepted = Counter.builder("taskfodge.ingest.accepted")
+                .description("Status updates accepted into the write-behind buffer")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("taskfodge.ingest.coalesced")
+                .description("Accepted updates merged into one already pending for the same task")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("taskfodge.ingest.rejected")
+                .description("Updates refused because the buffer was full or shutting down")
+                .register(meterRegistry);
+        this.written = Counter.builder("taskfodge.ingest.written")
+                .description("Task rows written by write-behind flushes")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("taskfodge.ingest.dropped")
+                .description("Flushed updates whose task had been deleted")
+                .register(meterRegistry);
+        this.failures = Counter.builder("taskfodge.ingest.flush.failures")
+                .description("Flushes that failed; their updates are kept for the next flush")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("taskfodge.ingest.flush")
+                .description("Time to write one batch of coalesced updates")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("taskfodge.ingest.batch.size")
+                .description("Coalesced updates written per flush batch")
+                .register(meterRegistry);
+        Gauge.builder("taskfodge.ingest.pending", pending, Map::size)
+                .description("Tasks with an update waiting to be flushed")
+                .register(meterRegistry);
+        // accepted updates per row actually written; 1 means nothing was saved by coalescing
+        Gauge.builder("taskfodge.ingest.coalescing.ratio", this, TaskUpdateCoalescer::coalescingRatio)
+                .description("Accepted status updates per task row written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues the updates. Whether each task exists is only known at flush time; updates for
+     * tasks that are gone by then are dropped.
+     */
+    public void accept(List<TaskStatusUpdate> updates) {
+        if (updates == null || updates.isEmpty()) {
+            throw new BadRequestException("At least one update is required");
+        }
+        if (updates.size() > maxRequestItems) {
+            throw new BadRequestException("At most " + maxRequestItems + " updates per request");
+        }
+        for (int i = 0; i < updates.size(); i++) {
+            TaskStatusUpdate update = updates.get(i);
+            if (update == null || update.id() == null) {
+                throw new BadRequestException("Update[" + i + "]: id is required");
+            }
+            if (update.taskStatus() == null && update.taskPriority() == null) {
+                throw new BadRequestException("Update[" + i + "]: taskStatus or taskPriority is required");
+            }
+        }
+        if (!accepting) {
+            rejected.increment(updates.size());
+            throw new ServiceUnavailableException("Update queue is shutting down, please retry");
+        }
+        // checked for the whole request up front, so a request is either queued entirely or not at all
+        if (pending.size() + updates.size() > maxPending) {
+            rejected.increment(updates.size());
+            flushSoon();
+            throw new ServiceUnavailableException("Update queue is full, please retry");
+        }
+        for (TaskStatusUpdate update : updates) {
+            pending.merge(update.id(), update, (queued, incoming) -> {
+                coalesced.increment();
+                return merge(queued, incoming);
+            });
+        }
+        accepted.increment(updates.size());
+        if (pending.size() >= batchSize) {
+            flushSoon();
+        }
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    // Time bound; the size bound is triggered from accept()
+    @Scheduled(initialDelayString = "${taskfodge.ingest.flush-interval:PT0.5S}",
+            fixedDelayString = "${taskfodge.ingest.flush-interval:PT0.5S}")
+    public void flushPeriodically() {
+        if (!pending.isEmpty()) {
+            flushSoon();
+        }
+    }
+
+    /**
+     * Writes what is pending when the call starts, batch by batch. Returns false when a batch
+     * failed; its updates are back in the buffer.
+     */
+    public boolean flush() {
+        flushLock.lock();
+        try {
+            // bounded by the backlog at the start, so a steady stream of updates cannot keep one flush going
+            int budget = pending.size();
+            while (budget > 0 && !pending.isEmpty()) {
+                Map<Long, TaskStatusUpdate> batch = takeBatch(Math.min(batchSize, budget));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                budget -= batch.size();
+                if (!write(batch)) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        accepting = false;
+        for (int attempt = 1; attempt <= SHUTDOWN_FLUSH_ATTEMPTS && !pending.isEmpty(); attempt++) {
+            flush();
+        }
+        if (!pending.isEmpty()) {
+            log.error("Shutting down with {} task status updates that could not be written", pending.size());
+        }
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void flushSoon() {
+        if (flushScheduled.compareAndSet(false, true)) {
+            flusher.execute(() -> {
+                flushScheduled.set(false);
+                flush();
+            });
+        }
+    }
+
+    private Map<Long, TaskStatusUpdate> takeBatch(int size) {
+        Map<Long, TaskStatusUpdate> batch = new LinkedHashMap<>(size * 2);
+        Iterator<Long> ids = pending.keySet().iterator();
+        while (batch.size() < size && ids.hasNext()) {
+            Long id = ids.next();
+            TaskStatusUpdate update = pending.remove(id);
+            if (update != null) {
+                batch.put(id, update);
+            }
+        }
+        return batch;
+    }
+
+    private boolean write(Map<Long, TaskStatusUpdate> batch) {
+        long start = System.nanoTime();
+        try {
+            int rows = taskService.applyStatusUpdates(batch.values());
+            written.increment(rows);
+            dropped.increment(batch.size() - rows);
+            batchSizes.record(batch.size());
+            return true;
+        } catch (RuntimeException ex) {
+            // back into the buffer, under anything newer that was accepted for the same task meanwhile
+            batch.forEach((id, update) -> pending.merge(id, update, (newer, requeued) -> merge(requeued, newer)));
+            failures.increment();
+            log.error("Writing {} queued task status updates failed, will retry", batch.size(), ex);
+            return false;
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private double coalescingRatio() {
+        double rows = written.count() + dropped.count();
+        return rows == 0 ? 1.0 : accepted.count() / rows;
+    }
+
+    // fields the newer update sets win, the others keep the older value
+    private static TaskStatusUpdate merge(TaskStatusUpdate older, TaskStatusUpdate newer) {
+        return new TaskStatusUpdate(newer.id(),
+                newer.taskStatus() != null ? newer.taskStatus() : older.taskStatus(),
+                newer.taskPriority() != null ? newer.taskPriority() : older.taskPriority());
+    }
+}
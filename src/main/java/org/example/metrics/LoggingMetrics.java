@@ -0,0 +1,46 @@
+package org.example.metrics;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.example.Logging.MeteredAsyncAppender;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+
+/**
+ * Queue depth and dropped-event counts for every MeteredAsyncAppender on the root logger,
+ * tagged by appender name.
+ */
+@Component
+public class LoggingMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return;
+        }
+        Iterator<Appender<ILoggingEvent>> appenders = context.getLogger(Logger.ROOT_LOGGER_NAME).iteratorForAppenders();
+        while (appenders.hasNext()) {
+            if (appenders.next() instanceof MeteredAsyncAppender appender) {
+                Gauge.builder("taskfodge.logging.queued", appender, MeteredAsyncAppender::getNumberOfElementsInQueue)
+                        .tag("appender", appender.getName())
+                        .description("Log events waiting for the async appender's worker")
+                        .register(registry);
+                Gauge.builder("taskfodge.logging.queue.remaining", appender, MeteredAsyncAppender::getRemainingCapacity)
+                        .tag("appender", appender.getName())
+                        .register(registry);
+                FunctionCounter.builder("taskfodge.logging.dropped", appender, MeteredAsyncAppender::getDroppedCount)
+                        .tag("appender", appender.getName())
+                        .description("Log events discarded because the async queue was (nearly) full")
+                        .register(registry);
+            }
+        }
+    }
+}
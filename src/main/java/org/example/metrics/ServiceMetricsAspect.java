@@ -0,0 +1,64 @@
+package org.example.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times every public service call as taskfodge.service{class, method, exception}.
+ * Runs inside the admission aspect, so queueing for a permit is not counted here
+ * (that is taskfodge.admission.wait) but the transaction and the method body are.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ServiceMetricsAspect {
+
+    public static final String METRIC_NAME = "taskfodge.service";
+
+    private final MeterRegistry registry;
+    // one Timer per service method and outcome, so the hot path skips the builder and the registry lookup
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    private record TimerKey(Class<?> type, String method, String exception) {
+    }
+
+    @Autowired
+    public ServiceMetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("within(org.example.service.Implementation..*) && execution(public * *(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(registry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            exception = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            Signature signature = joinPoint.getSignature();
+            sample.stop(timers.computeIfAbsent(
+                    new TimerKey(signature.getDeclaringType(), signature.getName(), exception), this::register));
+        }
+    }
+
+    private Timer register(TimerKey key) {
+        return Timer.builder(METRIC_NAME)
+                .tag("class", key.type().getSimpleName())
+                .tag("method", key.method())
+                .tag("exception", key.exception())
+                .register(registry);
+    }
+}
@@ -0,0 +1,16 @@
+package org.example.reminder;
+
+import org.example.domain.Task;
+
+import java.time.Instant;
+
+/**
+ * A fired deadline notification.
+ *
+ * @param task        detached snapshot of the task as of its last committed change
+ * @param type        which milestone fired
+ * @param scheduledAt when the milestone was due
+ * @param firedAt     when the wheel actually dispatched it
+ */
+public record DeadlineReminder(Task task, ReminderType type, Instant scheduledAt, Instant firedAt) {
+}
@@ -0,0 +1,10 @@
+package org.example.reminder;
+
+/**
+ * Receives deadline reminders. Register an implementation as a Spring bean
+ * to be picked up by DeadlineReminderService; listeners are invoked on the
+ * reminder dispatch pool and should not block for long.
+ */
+public interface DeadlineReminderListener {
+    void onReminder(DeadlineReminder reminder);
+}
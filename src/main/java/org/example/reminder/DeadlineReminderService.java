@@ -0,0 +1,253 @@
+package org.example.reminder;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.example.Logging.LogUtils;
+import org.example.datasource.ReadRouting;
+import org.example.domain.Task;
+import org.example.event.TaskChangedEvent;
+import org.example.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Fires "due in 24h", "due in 1h" and "overdue" reminders for open tasks
+ * from a hierarchical timing wheel. Timers are (re)scheduled from committed
+ * TaskChangedEvents and recovered from the database at startup, so there is
+ * no periodic table scan. OVERDUE fires once per deadline: later changes to a
+ * task that is still open and overdue do not re-arm it, a new deadline does.
+ */
+@Component
+public class DeadlineReminderService {
+
+    private static final Logger log = LogUtils.getLogger(DeadlineReminderService.class);
+    private static final int CLEAR_EVERY = 1_000;
+
+    // Timers for one task; the snapshot is swapped on every change so reminders carry current data
+    private static final class TaskTimers {
+        final LocalDateTime deadline;
+        final List<TimerTaskEntry> entries = new ArrayList<>(ReminderType.values().length);
+        volatile Task snapshot;
+
+        TaskTimers(Task snapshot) {
+            this.deadline = snapshot.getDeadline();
+            this.snapshot = snapshot;
+        }
+
+        void cancel() {
+            entries.forEach(TimerTaskEntry::cancel);
+        }
+    }
+
+    private final ConcurrentHashMap<Long, TaskTimers> timersByTask = new ConcurrentHashMap<>();
+    // open tasks whose OVERDUE has fired (or passed before startup), with the deadline it was for;
+    // only written inside timersByTask.compute for the same task, so a change and a firing never interleave
+    private final ConcurrentHashMap<Long, LocalDateTime> overdueFired = new ConcurrentHashMap<>();
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate readOnlyTx;
+    private final ObjectProvider<DeadlineReminderListener> listeners;
+    private final ExecutorService dispatcher;
+    private final HierarchicalTimingWheel wheel;
+    private final Map<ReminderType, Counter> firedCounters = new EnumMap<>(ReminderType.class);
+    private final Timer firingLag;
+    private final ZoneId zone = ZoneId.systemDefault();
+    private volatile boolean running;
+    private Thread reaper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public DeadlineReminderService(TaskRepository taskRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   ObjectProvider<DeadlineReminderListener> listeners,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${taskfodge.reminder.tick-ms:1000}") long tickMs,
+                                   @Value("${taskfodge.reminder.wheel-size:64}") int wheelSize,
+                                   @Value("${taskfodge.reminder.dispatch-threads:2}") int dispatchThreads) {
+        this.taskRepository = taskRepository;
+        this.readOnlyTx = ReadRouting.primaryReadOnly(transactionManager);
+        this.listeners = listeners;
+        this.dispatcher = Executors.newFixedThreadPool(dispatchThreads, r -> {
+            Thread t = new Thread(r, "reminder-dispatch");
+            t.setDaemon(true);
+            return t;
+        });
+        this.wheel = new HierarchicalTimingWheel(tickMs, wheelSize, dispatcher);
+
+        for (ReminderType type : ReminderType.values()) {
+            firedCounters.put(type, Counter.builder("taskfodge.reminder.fired")
+                    .tag("type", type.name())
+                    .register(meterRegistry));
+        }
+        this.firingLag = Timer.builder("taskfodge.reminder.lag")
+                .description("Delay between a reminder's due time and its dispatch")
+                .register(meterRegistry);
+        Gauge.builder("taskfodge.reminder.pending", wheel, HierarchicalTimingWheel::size)
+                .description("Reminder timers currently held by the timing wheel")
+                .register(meterRegistry);
+        Gauge.builder("taskfodge.reminder.tasks", timersByTask, ConcurrentHashMap::size)
+                .description("Open tasks with at least one pending reminder")
+                .register(meterRegistry);
+        Gauge.builder("taskfodge.reminder.overdue", overdueFired, ConcurrentHashMap::size)
+                .description("Open tasks whose overdue reminder has already fired")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        reaper = new Thread(() -> {
+            while (running) {
+                try {
+                    wheel.advanceClock(200);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }, "reminder-wheel");
+        reaper.setDaemon(true);
+        reaper.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        reaper.interrupt();
+        dispatcher.shutdown();
+        dispatcher.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    // Recovery: only milestones still in the future are scheduled, so restarts never re-send reminders;
+    // tasks already overdue are marked as reminded
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        long start = System.nanoTime();
+        readOnlyTx.executeWithoutResult(status -> {
+            try (Stream<Task> tasks = taskRepository.streamOpenWithDeadline()) {
+                Iterator<Task> it = tasks.iterator();
+                int n = 0;
+                while (it.hasNext()) {
+                    schedule(it.next().snapshot(), false);
+                    if (++n % CLEAR_EVERY == 0) {
+                        entityManager.clear();
+                    }
+                }
+            }
+        });
+        log.info("Deadline reminders recovered for {} tasks ({} timers) in {} ms", timersByTask.size(),
+                wheel.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.isRemoval()) {
+            cancel(event.getTaskId());
+        } else {
+            schedule(event.getTask(), true);
+        }
+    }
+
+    public int pendingTimers() {
+        return wheel.size();
+    }
+
+    private void schedule(Task task, boolean fireMissedOverdue) {
+        if (task.getDeadline() == null || !task.isOpen()) {
+            cancel(task.getId());
+            return;
+        }
+        timersByTask.compute(task.getId(), (id, existing) -> {
+            // deadline unchanged: keep the timers, just refresh the data they will report
+            if (existing != null && Objects.equals(existing.deadline, task.getDeadline())) {
+                existing.snapshot = task;
+                return existing;
+            }
+            // already reminded that this deadline passed; only a new deadline re-arms the task
+            if (existing == null && Objects.equals(overdueFired.get(id), task.getDeadline())) {
+                return null;
+            }
+            if (existing != null) {
+                existing.cancel();
+            }
+            overdueFired.remove(id);
+            TaskTimers timers = new TaskTimers(task);
+            long deadlineMs = task.getDeadline().atZone(zone).toInstant().toEpochMilli();
+            long now = System.currentTimeMillis();
+            for (ReminderType type : ReminderType.values()) {
+                long fireAt = deadlineMs - type.getLeadTime().toMillis();
+                if (fireAt > now || (type == ReminderType.OVERDUE && fireMissedOverdue)) {
+                    timers.entries.add(wheel.schedule(fireAt, () -> fire(id, timers, type, fireAt)));
+                } else if (type == ReminderType.OVERDUE) {
+                    overdueFired.put(id, task.getDeadline());
+                }
+            }
+            return timers.entries.isEmpty() ? null : timers;
+        });
+    }
+
+    private void cancel(Long taskId) {
+        timersByTask.compute(taskId, (id, timers) -> {
+            if (timers != null) {
+                timers.cancel();
+            }
+            overdueFired.remove(id);
+            return null;
+        });
+    }
+
+    private void fire(Long taskId, TaskTimers timers, ReminderType type, long scheduledMs) {
+        long now = System.currentTimeMillis();
+        firingLag.record(Math.max(0, now - scheduledMs), TimeUnit.MILLISECONDS);
+        firedCounters.get(type).increment();
+        if (type == ReminderType.OVERDUE) {
+            // unless a change replaced these timers meanwhile
+            timersByTask.computeIfPresent(taskId, (id, current) -> {
+                if (current != timers) {
+                    return current;
+                }
+                overdueFired.put(id, timers.deadline);
+                return null;
+            });
+        }
+        DeadlineReminder reminder = new DeadlineReminder(timers.snapshot, type,
+                Instant.ofEpochMilli(scheduledMs), Instant.ofEpochMilli(now));
+        listeners.orderedStream().forEach(listener -> {
+            try {
+                listener.onReminder(reminder);
+            } catch (RuntimeException ex) {
+                log.error("Reminder listener {} failed for task id={}", listener.getClass().getSimpleName(), taskId, ex);
+            }
+        });
+    }
+}
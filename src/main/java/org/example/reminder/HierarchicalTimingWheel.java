@@ -0,0 +1,68 @@
+package org.example.reminder;
+
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Hierarchical timing wheel with O(1) schedule and cancel. Expirations are
+ * absolute epoch milliseconds. The owner drives time by calling
+ * advanceClock() from a single reaper thread; due actions are handed to
+ * the dispatcher so slow listeners never stall the wheel.
+ */
+public final class HierarchicalTimingWheel {
+
+    private final Executor dispatcher;
+    private final DelayQueue<TimerTaskList> delayQueue = new DelayQueue<>();
+    private final AtomicInteger taskCounter = new AtomicInteger();
+    private final TimingWheel wheel;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, Executor dispatcher) {
+        this.dispatcher = dispatcher;
+        this.wheel = new TimingWheel(tickMs, wheelSize, System.currentTimeMillis(), taskCounter, delayQueue);
+    }
+
+    public TimerTaskEntry schedule(long expirationMs, Runnable action) {
+        TimerTaskEntry entry = new TimerTaskEntry(expirationMs, action);
+        lock.readLock().lock();
+        try {
+            addEntry(entry);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return entry;
+    }
+
+    // Waits up to timeoutMs for the next bucket to expire; returns true if any bucket was processed
+    public boolean advanceClock(long timeoutMs) throws InterruptedException {
+        TimerTaskList bucket = delayQueue.poll(timeoutMs, TimeUnit.MILLISECONDS);
+        if (bucket == null) {
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            while (bucket != null) {
+                wheel.advanceClock(bucket.getExpiration());
+                bucket.flush(this::addEntry);
+                bucket = delayQueue.poll();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return true;
+    }
+
+    /** Number of pending (scheduled, not yet fired or cancelled) entries */
+    public int size() {
+        return taskCounter.get();
+    }
+
+    private void addEntry(TimerTaskEntry entry) {
+        if (!wheel.add(entry) && !entry.isCancelled()) {
+            dispatcher.execute(entry.action);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.reminder;
+
+import org.example.Logging.LogUtils;
+import org.slf4j.Logger;
+import org.springframework.stereotype.Component;
+
+@Component
+public class LoggingReminderListener implements DeadlineReminderListener {
+
+    private static final Logger log = LogUtils.getLogger(LoggingReminderListener.class);
+
+    @Override
+    public void onReminder(DeadlineReminder reminder) {
+        log.info("Task id={} title={} reminder={} deadline={}", reminder.task().getId(),
+                reminder.task().getTitle(), reminder.type(), reminder.task().getDeadline());
+    }
+}
@@ -0,0 +1,19 @@
+package org.example.reminder;
+
+import java.time.Duration;
+
+public enum ReminderType {
+    DUE_IN_24H(Duration.ofHours(24)),
+    DUE_IN_1H(Duration.ofHours(1)),
+    OVERDUE(Duration.ZERO);
+
+    private final Duration leadTime;
+
+    ReminderType(Duration leadTime) {
+        this.leadTime = leadTime;
+    }
+
+    public Duration getLeadTime() {
+        return leadTime;
+    }
+}
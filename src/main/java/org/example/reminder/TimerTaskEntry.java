@@ -0,0 +1,44 @@
+package org.example.reminder;
+
+/**
+ * A scheduled action in a {@link HierarchicalTimingWheel}. Entries live in a
+ * doubly linked bucket list so cancellation is O(1).
+ */
+public final class TimerTaskEntry {
+
+    final long expirationMs;
+    final Runnable action;
+
+    volatile TimerTaskList list;
+    TimerTaskEntry next;
+    TimerTaskEntry prev;
+
+    private volatile boolean cancelled;
+
+    TimerTaskEntry(long expirationMs, Runnable action) {
+        this.expirationMs = expirationMs;
+        this.action = action;
+    }
+
+    public long getExpirationMs() {
+        return expirationMs;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public void cancel() {
+        cancelled = true;
+        remove();
+    }
+
+    // The entry may be moved between buckets concurrently, so retry until it is detached
+    void remove() {
+        TimerTaskList current = list;
+        while (current != null) {
+            current.remove(this);
+            current = list;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.reminder;
+
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * One wheel bucket: a circular doubly linked list of entries sharing an
+ * expiration slot. Buckets, not entries, go into the DelayQueue, so the
+ * queue size is bounded by the number of slots.
+ */
+final class TimerTaskList implements Delayed {
+
+    private final AtomicInteger taskCounter;
+    private final TimerTaskEntry root = new TimerTaskEntry(-1L, null);
+    private final AtomicLong expiration = new AtomicLong(-1L);
+
+    TimerTaskList(AtomicInteger taskCounter) {
+        this.taskCounter = taskCounter;
+        root.next = root;
+        root.prev = root;
+    }
+
+    // Returns true if the expiration changed, i.e. the bucket must be (re)queued
+    boolean setExpiration(long expirationMs) {
+        return expiration.getAndSet(expirationMs) != expirationMs;
+    }
+
+    long getExpiration() {
+        return expiration.get();
+    }
+
+    void add(TimerTaskEntry entry) {
+        boolean done = false;
+        while (!done) {
+            entry.remove();
+            synchronized (this) {
+                synchronized (entry) {
+                    if (entry.list == null) {
+                        TimerTaskEntry tail = root.prev;
+                        entry.next = root;
+                        entry.prev = tail;
+                        entry.list = this;
+                        tail.next = entry;
+                        root.prev = entry;
+                        taskCounter.incrementAndGet();
+                        done = true;
+                    }
+                }
+            }
+        }
+    }
+
+    synchronized void remove(TimerTaskEntry entry) {
+        synchronized (entry) {
+            if (entry.list == this) {
+                entry.next.prev = entry.prev;
+                entry.prev.next = entry.next;
+                entry.next = null;
+                entry.prev = null;
+                entry.list = null;
+                taskCounter.decrementAndGet();
+            }
+        }
+    }
+
+    // Detaches every entry and hands it to the callback (re-insert into a lower wheel or run)
+    synchronized void flush(Consumer<TimerTaskEntry> callback) {
+        TimerTaskEntry head = root.next;
+        while (head != root) {
+            remove(head);
+            callback.accept(head);
+            head = root.next;
+        }
+        expiration.set(-1L);
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+        return unit.convert(Math.max(getExpiration() - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+        return Long.compare(getExpiration(), ((TimerTaskList) other).getExpiration());
+    }
+}
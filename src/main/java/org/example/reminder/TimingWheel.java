@@ -0,0 +1,76 @@
+package org.example.reminder;
+
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A single level of the hierarchical wheel. Entries beyond this wheel's
+ * span go to a lazily created overflow wheel whose tick is this wheel's
+ * whole interval; they cascade down as the clock advances.
+ */
+final class TimingWheel {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final long interval;
+    private final AtomicInteger taskCounter;
+    private final DelayQueue<TimerTaskList> queue;
+    private final TimerTaskList[] buckets;
+
+    // always a multiple of tickMs
+    private long currentTime;
+    private volatile TimingWheel overflowWheel;
+
+    TimingWheel(long tickMs, int wheelSize, long startMs, AtomicInteger taskCounter, DelayQueue<TimerTaskList> queue) {
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.interval = tickMs * wheelSize;
+        this.taskCounter = taskCounter;
+        this.queue = queue;
+        this.buckets = new TimerTaskList[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new TimerTaskList(taskCounter);
+        }
+        this.currentTime = startMs - (startMs % tickMs);
+    }
+
+    // Returns false when the entry is cancelled or already due, so the caller can run it
+    boolean add(TimerTaskEntry entry) {
+        long expiration = entry.expirationMs;
+        if (entry.isCancelled()) {
+            return false;
+        }
+        if (expiration < currentTime + tickMs) {
+            return false;
+        }
+        if (expiration < currentTime + interval) {
+            long virtualId = expiration / tickMs;
+            TimerTaskList bucket = buckets[(int) (virtualId % wheelSize)];
+            bucket.add(entry);
+            if (bucket.setExpiration(virtualId * tickMs)) {
+                queue.offer(bucket);
+            }
+            return true;
+        }
+        if (overflowWheel == null) {
+            addOverflowWheel();
+        }
+        return overflowWheel.add(entry);
+    }
+
+    void advanceClock(long timeMs) {
+        if (timeMs >= currentTime + tickMs) {
+            currentTime = timeMs - (timeMs % tickMs);
+            TimingWheel overflow = overflowWheel;
+            if (overflow != null) {
+                overflow.advanceClock(currentTime);
+            }
+        }
+    }
+
+    private synchronized void addOverflowWheel() {
+        if (overflowWheel == null) {
+            overflowWheel = new TimingWheel(interval, wheelSize, currentTime, taskCounter, queue);
+        }
+    }
+}
@@ -1,11 +1,14 @@
 package org.example.repository;
 
+import org.example.config.CacheConfig;
 import org.example.domain.Role;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.Optional;
 
 public interface RoleRepository extends BaseRepository<Role, Long> {
+    @Cacheable(cacheNames = CacheConfig.ROLE_BY_NAME, key = "#p0", unless = "#result == null")
     Optional<Role> findByName(String name);
 
     boolean existsByName(String name);
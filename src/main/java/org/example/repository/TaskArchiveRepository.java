@@ -0,0 +1,8 @@
+package org.example.repository;
+
+import org.example.domain.TaskArchive;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TaskArchiveRepository extends BaseRepository<TaskArchive, Long> {
+}
@@ -0,0 +1,59 @@
+package org.example.repository;
+
+import org.example.domain.TaskArchive;
+import org.example.dto.TaskArchiveQuery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * TaskArchive predicates for TaskArchiveRepository, composed like TaskSpecifications:
+ * null for an unset argument, so only the filters a caller sets reach the WHERE clause.
+ */
+public final class TaskArchiveSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private TaskArchiveSpecifications() {}
+
+    public static Specification<TaskArchive> matching(TaskArchiveQuery query) {
+        return Specification.allOf(
+                assignedTo(query.getAssigneeId()),
+                completedFrom(query.getCompletedFrom()),
+                completedBefore(query.getCompletedBefore()),
+                titleContains(query.getTitle()));
+    }
+
+    public static Specification<TaskArchive> assignedTo(Long userId) {
+        return userId == null ? null : (root, query, cb) -> cb.equal(root.get("assigneeId"), userId);
+    }
+
+    public static Specification<TaskArchive> completedFrom(LocalDateTime from) {
+        return from == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("completedAt"), from);
+    }
+
+    public static Specification<TaskArchive> completedBefore(LocalDateTime before) {
+        return before == null ? null : (root, query, cb) -> cb.lessThan(root.get("completedAt"), before);
+    }
+
+    // no index can serve a substring match; it filters the rows the other predicates select
+    public static Specification<TaskArchive> titleContains(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        String pattern = "%" + escapeLike(text.trim().toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("title")), pattern, LIKE_ESCAPE);
+    }
+
+    private static String escapeLike(String text) {
+        StringBuilder escaped = new StringBuilder(text.length());
+        for (char c : text.toCharArray()) {
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
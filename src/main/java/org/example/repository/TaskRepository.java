@@ -1,13 +1,101 @@
 package org.example.repository;
 
+import jakarta.persistence.QueryHint;
 import org.example.domain.Task;
+import org.example.dto.TaskSearchHit;
+import org.example.dto.TaskStatsRow;
+import org.example.dto.TaskSummary;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TaskRepository extends BaseRepository<Task,Long> {
+    String STREAM_FETCH_SIZE = "500";
+
+    // List views load assignee and its roles in the same statement instead of one query per row
+    @Override
+    @EntityGraph(Task.WITH_ASSIGNEE)
+    List<Task> findAll();
+
+    @Override
+    @EntityGraph(Task.WITH_ASSIGNEE)
+    List<Task> findAllById(Iterable<Long> ids);
+
+    @Override
+    @EntityGraph(Task.WITH_ASSIGNEE)
+    Optional<Task> findById(Long id);
+
+    @EntityGraph(Task.WITH_ASSIGNEE)
     List<Task> findByDeadlineBetween(LocalDateTime from, LocalDateTime to);
+
+    @EntityGraph(Task.WITH_ASSIGNEE)
+    @Query("select t from Task t where t.deadline between :from and :to " +
+            "and (t.taskStatus is null or t.taskStatus <> org.example.domain.TaskStatus.COMPLETED)")
+    List<Task> findOpenByDeadlineBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // Server-side cursor: rows arrive STREAM_FETCH_SIZE at a time, must be consumed inside a transaction.
+    // Only the to-one assignee is join fetched (collections cannot be streamed); roles are batch-fetched.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select t from Task t left join fetch t.assignedTo order by t.id")
+    Stream<Task> streamAll();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select t from Task t left join fetch t.assignedTo where t.deadline is not null " +
+            "and (t.taskStatus is null or t.taskStatus <> org.example.domain.TaskStatus.COMPLETED) order by t.id")
+    Stream<Task> streamOpenWithDeadline();
+
+    @Query("select coalesce(max(t.id), 0) from Task t")
+    long findMaxId();
+
+    // One id range of the search index bulk load; ranges are streamed in parallel
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select new org.example.dto.TaskSearchHit(t.id, t.title, t.taskStatus, t.taskPriority) " +
+            "from Task t where t.id > :after and t.id <= :upTo order by t.id")
+    Stream<TaskSearchHit> streamSearchRows(@Param("after") long after, @Param("upTo") long upTo);
+
+    // Stats counter bulk load; the assignee id comes from the foreign key column, no join
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select new org.example.dto.TaskStatsRow(t.id, t.taskStatus, t.taskPriority, t.assignedTo.id, t.deadline) " +
+            "from Task t")
+    Stream<TaskStatsRow> streamStatsRows();
+
+    // Reconciliation of the stats counters: [status, priority, count] rows
+    @Query("select t.taskStatus, t.taskPriority, count(t) from Task t group by t.taskStatus, t.taskPriority")
+    List<Object[]> countByStatusAndPriority();
+
+    // [assignee id, count] rows, a null id is the unassigned count
+    @Query("select t.assignedTo.id, count(t) from Task t group by t.assignedTo.id")
+    List<Object[]> countByAssignee();
+
+    @Query("select count(t) from Task t where t.deadline < :before " +
+            "and (t.taskStatus is null or t.taskStatus <> org.example.domain.TaskStatus.COMPLETED)")
+    long countOpenDueBefore(@Param("before") LocalDateTime before);
+
+    @Query("select new org.example.dto.TaskSummary(t.id, t.title, t.taskStatus, t.taskPriority, t.deadline, a.id, a.userName) " +
+            "from Task t left join t.assignedTo a order by t.id")
+    List<TaskSummary> findAllSummaries();
 }
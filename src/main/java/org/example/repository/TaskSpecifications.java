@@ -0,0 +1,45 @@
+package org.example.repository;
+
+import org.example.domain.Priority;
+import org.example.domain.Task;
+import org.example.domain.TaskStatus;
+import org.example.dto.TaskFilter;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Composable Task predicates for TaskRepository (JpaSpecificationExecutor).
+ * Each returns null for a null argument, which Specification.allOf skips, so
+ * only the filters a caller sets end up in the WHERE clause. Predicates are
+ * listed in index column order: assignee, status, priority, deadline.
+ */
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {}
+
+    public static Specification<Task> matching(TaskFilter filter) {
+        return Specification.allOf(
+                assignedTo(filter.getAssigneeId()),
+                hasStatus(filter.getStatus()),
+                hasPriority(filter.getPriority()),
+                deadlineBefore(filter.getDeadlineBefore()));
+    }
+
+    // compares the foreign key column, no join to app_user
+    public static Specification<Task> assignedTo(Long userId) {
+        return userId == null ? null : (root, query, cb) -> cb.equal(root.get("assignedTo").get("id"), userId);
+    }
+
+    public static Specification<Task> hasStatus(TaskStatus status) {
+        return status == null ? null : (root, query, cb) -> cb.equal(root.get("taskStatus"), status);
+    }
+
+    public static Specification<Task> hasPriority(Priority priority) {
+        return priority == null ? null : (root, query, cb) -> cb.equal(root.get("taskPriority"), priority);
+    }
+
+    public static Specification<Task> deadlineBefore(LocalDateTime deadline) {
+        return deadline == null ? null : (root, query, cb) -> cb.lessThan(root.get("deadline"), deadline);
+    }
+}
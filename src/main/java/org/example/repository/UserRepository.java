@@ -1,18 +1,41 @@
 package org.example.repository;
 
 import org.example.domain.User;
+import org.example.dto.UserIdentity;
+import org.example.dto.UserSummary;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 public interface UserRepository extends BaseRepository<User,Long> {
+    @Override
+    @EntityGraph(User.WITH_ROLES)
+    List<User> findAll();
+
+    @Override
+    @EntityGraph(User.WITH_ROLES)
+    Optional<User> findById(Long id);
+
+    @Query("select new org.example.dto.UserSummary(u.id, u.userName, u.email) from User u order by u.id")
+    List<UserSummary> findAllSummaries();
+
     boolean existsByEmail(String email);
 
-    boolean existsByUsername(String username);
+    // Uniqueness pre-check in one round trip; both branches are unique-index lookups (BitmapOr)
+    @Query("select new org.example.dto.UserIdentity(u.id, u.email, u.userName) from User u " +
+            "where u.email = :email or u.userName = :userName")
+    List<UserIdentity> findIdentityConflicts(@Param("email") String email, @Param("userName") String userName);
 
-    boolean existsByUserId(String userId);
+    @Query("select new org.example.dto.UserIdentity(u.id, u.email, u.userName) from User u")
+    Stream<UserIdentity> streamIdentities();
 
+    @EntityGraph(User.WITH_ROLES)
     User findByEmail(String email);
-
-    User findByUserIdAndEmail(String userId, String email);
 }
@@ -0,0 +1,55 @@
+package org.example.security;
+
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.Logging.LogUtils;
+import org.slf4j.Logger;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Authenticates "Authorization: Bearer" requests from the token alone; roles
+ * come from the token's claims, so no user lookup happens on the request path.
+ * Requests without a valid token continue unauthenticated and are rejected by
+ * the security rules where authentication is required.
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LogUtils.getLogger(JwtAuthenticationFilter.class);
+    private static final String BEARER = "Bearer ";
+
+    private final JwtService jwtService;
+
+    public JwtAuthenticationFilter(JwtService jwtService) {
+        this.jwtService = jwtService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER)) {
+            try {
+                VerifiedToken token = jwtService.verify(header.substring(BEARER.length()).trim());
+                var authorities = token.roles().stream()
+                        .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                        .toList();
+                var authentication = new UsernamePasswordAuthenticationToken(token.username(), null, authorities);
+                authentication.setDetails(token);
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            } catch (JwtException | IllegalArgumentException ex) {
+                log.debug("Rejected bearer token: {}", ex.getMessage());
+                SecurityContextHolder.clearContext();
+            }
+        }
+        chain.doFilter(request, response);
+    }
+}
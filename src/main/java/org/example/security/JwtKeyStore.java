@@ -0,0 +1,116 @@
+package org.example.security;
+
+import io.jsonwebtoken.security.Keys;
+import org.example.Logging.LogUtils;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * HMAC signing keys by key id. Keys come from taskfodge.jwt.keys-file
+ * (properties: "active=&lt;kid&gt;" plus one "&lt;kid&gt;=&lt;base64 secret&gt;" line per key),
+ * which is polled and reloaded on change, so keys rotate without a restart:
+ * add the new key, switch "active", and drop the old key once its tokens expired.
+ * Without a file a single key is taken from taskfodge.jwt.secret, or generated.
+ */
+@Component
+public class JwtKeyStore {
+
+    private static final Logger log = LogUtils.getLogger(JwtKeyStore.class);
+    private static final String ACTIVE = "active";
+    private static final String DEFAULT_KID = "default";
+
+    private record KeySet(String activeKid, Map<String, SecretKey> keys, long generation) {
+    }
+
+    private final Path keysFile;
+    private volatile KeySet keySet;
+    private volatile FileTime lastModified;
+
+    @Autowired
+    public JwtKeyStore(@Value("${taskfodge.jwt.keys-file:}") String keysFile,
+                       @Value("${taskfodge.jwt.secret:}") String secret) throws IOException {
+        this.keysFile = keysFile.isBlank() ? null : Path.of(keysFile);
+        if (this.keysFile != null) {
+            reload();
+        } else {
+            byte[] bytes;
+            if (secret.isBlank()) {
+                log.warn("No JWT key configured, generated a random key; tokens will not survive a restart");
+                bytes = new byte[32];
+                new SecureRandom().nextBytes(bytes);
+            } else {
+                bytes = Base64.getDecoder().decode(secret);
+            }
+            keySet = new KeySet(DEFAULT_KID, Map.of(DEFAULT_KID, Keys.hmacShaKeyFor(bytes)), 0);
+        }
+    }
+
+    public String activeKeyId() {
+        return keySet.activeKid();
+    }
+
+    public SecretKey activeKey() {
+        KeySet current = keySet;
+        return current.keys().get(current.activeKid());
+    }
+
+    public SecretKey find(String kid) {
+        return keySet.keys().get(kid == null ? DEFAULT_KID : kid);
+    }
+
+    /** Incremented on every reload; cached verifications from older generations are discarded */
+    public long generation() {
+        return keySet.generation();
+    }
+
+    @Scheduled(fixedDelayString = "${taskfodge.jwt.keys-reload-interval:PT30S}")
+    public void reloadIfChanged() {
+        if (keysFile == null) {
+            return;
+        }
+        try {
+            if (!Files.getLastModifiedTime(keysFile).equals(lastModified)) {
+                reload();
+            }
+        } catch (IOException | RuntimeException ex) {
+            log.error("Failed to reload JWT keys from {}, keeping previous keys", keysFile, ex);
+        }
+    }
+
+    private synchronized void reload() throws IOException {
+        FileTime modified = Files.getLastModifiedTime(keysFile);
+        Properties props = new Properties();
+        try (InputStream in = Files.newInputStream(keysFile)) {
+            props.load(in);
+        }
+        String active = props.getProperty(ACTIVE);
+        Map<String, SecretKey> keys = new HashMap<>();
+        for (String kid : props.stringPropertyNames()) {
+            if (!ACTIVE.equals(kid)) {
+                keys.put(kid, Keys.hmacShaKeyFor(Base64.getDecoder().decode(props.getProperty(kid).trim())));
+            }
+        }
+        if (active == null || !keys.containsKey(active)) {
+            throw new IllegalStateException("JWT keys file must name an existing active key");
+        }
+        long generation = keySet == null ? 0 : keySet.generation() + 1;
+        keySet = new KeySet(active, Map.copyOf(keys), generation);
+        lastModified = modified;
+        log.info("Loaded {} JWT keys, active kid={}", keys.size(), active);
+    }
+}
@@ -0,0 +1,129 @@
+package org.example.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.domain.Role;
+import org.example.domain.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Issues and verifies HS256 JWTs carrying the user's roles, so requests can be
+ * authenticated without touching the database. Verified tokens are cached by
+ * SHA-256 digest (never the raw token) to skip repeated signature checks.
+ */
+@Service
+public class JwtService {
+
+    private static final String CLAIM_USERNAME = "username";
+    private static final String CLAIM_ROLES = "roles";
+
+    private final JwtKeyStore keyStore;
+    private final String issuer;
+    private final Duration ttl;
+    private final JwtParser parser;
+    private final Cache<String, VerifiedToken> verified;
+
+    @Autowired
+    public JwtService(JwtKeyStore keyStore, MeterRegistry meterRegistry,
+                      @Value("${taskfodge.jwt.issuer:taskfodge}") String issuer,
+                      @Value("${taskfodge.jwt.ttl:PT1H}") Duration ttl,
+                      @Value("${taskfodge.jwt.cache.maximum-size:100000}") long cacheSize,
+                      @Value("${taskfodge.jwt.cache.ttl:PT5M}") Duration cacheTtl) {
+        this.keyStore = keyStore;
+        this.issuer = issuer;
+        this.ttl = ttl;
+        this.parser = Jwts.parserBuilder()
+                .requireIssuer(issuer)
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        Key key = keyStore.find(header.getKeyId());
+                        if (key == null) {
+                            throw new JwtException("Unknown signing key " + header.getKeyId());
+                        }
+                        return key;
+                    }
+                })
+                .build();
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(cacheTtl)
+                .recordStats()
+                .build();
+        // same tag keys as the Spring-managed caches, Prometheus rejects a meter name with mixed key sets
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, "jwtVerified",
+                Tags.of("cache.manager", "jwtService", "name", "jwtVerified"));
+    }
+
+    public String issue(User user) {
+        Instant now = Instant.now();
+        List<String> roles = user.getRoles() == null ? List.of()
+                : user.getRoles().stream().map(Role::getName).sorted().toList();
+        return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, keyStore.activeKeyId())
+                .setIssuer(issuer)
+                .setSubject(String.valueOf(user.getId()))
+                .claim(CLAIM_USERNAME, user.getUserName())
+                .claim(CLAIM_ROLES, roles)
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(now.plus(ttl)))
+                .signWith(keyStore.activeKey(), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    // Throws JwtException for invalid, expired or unknown-key tokens
+    public VerifiedToken verify(String token) {
+        String digest = digest(token);
+        long generation = keyStore.generation();
+        VerifiedToken cached = verified.getIfPresent(digest);
+        if (cached != null && cached.keyGeneration() == generation && cached.expiresAt().isAfter(Instant.now())) {
+            return cached;
+        }
+        VerifiedToken fresh = parse(token, generation);
+        verified.put(digest, fresh);
+        return fresh;
+    }
+
+    @SuppressWarnings("unchecked")
+    private VerifiedToken parse(String token, long generation) {
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        List<String> roles = claims.get(CLAIM_ROLES, List.class);
+        return new VerifiedToken(Long.valueOf(claims.getSubject()), claims.get(CLAIM_USERNAME, String.class),
+                roles == null ? List.of() : List.copyOf(roles), claims.getExpiration().toInstant(), generation);
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package org.example.security;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Claims of a token whose signature has been checked.
+ *
+ * @param keyGeneration JwtKeyStore generation the token was verified against
+ */
+public record VerifiedToken(Long userId, String username, List<String> roles, Instant expiresAt, long keyGeneration) {
+}
@@ -1,5 +1,7 @@
 package org.example.service;
 
+import org.example.dto.CursorPage;
+
 import java.util.List;
 import java.util.Optional;
 
@@ -7,7 +9,11 @@ public interface BaseService<T, ID> {
     T save(T entity);
     Optional<T> findById(ID id);
     List<T> findAll();
+    CursorPage<T> findPage(String cursor, int size);
+    Optional<Long> findVersion(ID id);
+    Optional<String> findRepresentationVersion(ID id);
+    String collectionVersion();
     T update(ID id, T entity);
     void deleteById(ID id);
+    void deleteById(ID id, Long expectedVersion);
 }
-
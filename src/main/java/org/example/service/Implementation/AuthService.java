@@ -0,0 +1,49 @@
+package org.example.service.Implementation;
+
+import org.example.Logging.LogUtils;
+import org.example.datasource.ReadRouting;
+import org.example.domain.User;
+import org.example.dto.LoginRequest;
+import org.example.dto.TokenResponse;
+import org.example.exception.UnauthorizedException;
+import org.example.repository.UserRepository;
+import org.example.security.JwtService;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@Transactional(readOnly = true)
+public class AuthService {
+
+    private static final Logger log = LogUtils.getLogger(AuthService.class);
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JwtService jwtService;
+
+    @Autowired
+    public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtService jwtService) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.jwtService = jwtService;
+    }
+
+    // The only place credentials and roles are read from the DB; later requests trust the token.
+    // Read from the primary, so a new sign-up or password change works right away
+    public TokenResponse login(LoginRequest request) {
+        User user = ReadRouting.onPrimary(() -> userRepository.findByEmail(request.getEmail()));
+        if (user == null || request.getPassword() == null
+                || !passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+            log.warn("Failed login for email={}", request.getEmail());
+            throw new UnauthorizedException("Invalid email or password");
+        }
+        log.info("User id={} logged in", user.getId());
+        return TokenResponse.builder()
+                .accessToken(jwtService.issue(user))
+                .tokenType("Bearer")
+                .expiresIn(jwtService.getTtl().toSeconds())
+                .build();
+    }
+}
@@ -1,14 +1,49 @@
 package org.example.service.Implementation;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.Path;
+import org.example.admission.SkipDbAdmission;
+import org.example.cache.TableVersions;
+import org.example.datasource.ReadRouting;
+import org.example.domain.Versioned;
+import org.example.dto.CursorPage;
+import org.example.exception.BadRequestException;
+import org.example.exception.ConflictException;
+import org.example.exception.NotFoundException;
+import org.example.repository.BaseRepository;
 import org.example.service.BaseService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
+import java.util.StringJoiner;
 
 public abstract class BaseServiceImpl<T, ID> implements BaseService<T, ID> {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    // All entities are keyed by a monotonically assigned "id" column backed by the primary key index
+    private static final String ID_ATTRIBUTE = "id";
+    private static final String VERSION_ATTRIBUTE = "version";
+
     @Autowired
-    protected JpaRepository<T, ID> repository;
+    protected BaseRepository<T, ID> repository;
+
+    @Autowired
+    protected TableVersions tableVersions;
+
+    @PersistenceContext
+    protected EntityManager entityManager;
 
     @Override
     public T save(T entity) {
@@ -16,15 +51,82 @@ public abstract class BaseServiceImpl<T, ID> implements BaseService<T, ID> {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<T> findById(ID id) {
         return repository.findById(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<T> findAll() {
         return repository.findAll();
     }
 
+    // Keyset pagination: WHERE id > :cursor ORDER BY id LIMIT :size, so every page is an index range scan
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<T> findPage(String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        ID after = decodeCursor(cursor);
+        Specification<T> spec = (root, query, cb) -> {
+            if (after == null) {
+                return null;
+            }
+            Path<Comparable<Object>> id = root.get(ID_ATTRIBUTE);
+            return cb.greaterThan(id, asComparable(after));
+        };
+
+        // fetch one extra row to learn whether another page exists without a count query
+        List<T> rows = repository.findBy(spec, q -> q.sortBy(Sort.by(ID_ATTRIBUTE))
+                .project(pageFetchPaths())
+                .limit(size + 1)
+                .all());
+        boolean hasMore = rows.size() > size;
+        List<T> items = hasMore ? rows.subList(0, size) : rows;
+
+        return CursorPage.<T>builder()
+                .items(items)
+                .size(size)
+                .nextCursor(hasMore ? encodeCursor(items.get(items.size() - 1)) : null)
+                .build();
+    }
+
+    // Version column only, by primary key; lets conditional requests skip loading the entity graph.
+    // Read from the primary: If-Match on writes is checked against it
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Long> findVersion(ID id) {
+        return ReadRouting.onPrimary(() -> entityManager.createQuery("select e." + VERSION_ATTRIBUTE + " from "
+                        + entityName() + " e where e." + ID_ATTRIBUTE + " = :id", Long.class)
+                .setParameter("id", id)
+                .getResultList()
+                .stream()
+                .findFirst());
+    }
+
+    // Entity ETag value (Versioned.representationVersion); entities embedding other rows add their versions
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<String> findRepresentationVersion(ID id) {
+        return findVersion(id).map(String::valueOf);
+    }
+
+    // List ETag: changes once a write to this table, or to a table embedded in its JSON, commits.
+    // Counters only (TableVersions), so no connection is taken for it
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @SkipDbAdmission
+    public String collectionVersion() {
+        StringJoiner tag = new StringJoiner(".");
+        tag.add(tableVersions.version(getDomainClass()));
+        for (Class<?> embedded : embeddedTypes()) {
+            tag.add(tableVersions.version(embedded));
+        }
+        return tag.toString();
+    }
+
     @Override
     public T update(ID id, T entity) {
         if (!repository.existsById(id)) {
@@ -37,4 +139,62 @@ public abstract class BaseServiceImpl<T, ID> implements BaseService<T, ID> {
     public void deleteById(ID id) {
         repository.deleteById(id);
     }
-}
\ No newline at end of file
+
+    // With the version an If-Match matched, the row is deleted WHERE id = ? AND version = ?, so a write
+    // committed after the precondition check fails the delete (409) instead of being lost
+    @Override
+    public void deleteById(ID id, Long expectedVersion) {
+        if (expectedVersion == null) {
+            repository.deleteById(id);
+            return;
+        }
+        T entity = repository.findById(id).orElseThrow(() -> new NotFoundException("Resource not found!"));
+        if (entity instanceof Versioned versioned && !expectedVersion.equals(versioned.getVersion())) {
+            throw new ConflictException("Resource was modified by another request, reload and retry");
+        }
+        repository.delete(entity);
+    }
+
+    // Entities whose rows appear inside this entity's JSON, so their changes must change the list ETag
+    protected List<Class<?>> embeddedTypes() {
+        return List.of();
+    }
+
+    // Associations to load with each page; keep to-one paths only, collection fetches would page in memory
+    protected List<String> pageFetchPaths() {
+        return List.of();
+    }
+
+    private String entityName() {
+        return entityManager.getMetamodel().entity(getDomainClass()).getName();
+    }
+
+    protected Class<?> getDomainClass() {
+        return ResolvableType.forClass(getClass()).as(BaseServiceImpl.class).resolveGeneric(0);
+    }
+
+    private String encodeCursor(T last) {
+        Object id = entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(last);
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @SuppressWarnings("unchecked")
+    private ID decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            Class<?> idType = entityManager.getMetamodel().entity(getDomainClass()).getIdType().getJavaType();
+            return (ID) DefaultConversionService.getSharedInstance().convert(raw, idType);
+        } catch (IllegalArgumentException | ConversionException ex) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparable<Object> asComparable(Object id) {
+        return (Comparable<Object>) id;
+    }
+}
@@ -1,10 +1,19 @@
 package org.example.service.Implementation;
 
 import org.example.Logging.LogUtils;
+import org.example.cache.ResponseCache;
+import org.example.config.CacheConfig;
+import org.example.datasource.ReadRouting;
 import org.example.domain.Role;
+import org.example.event.RoleChangedEvent;
+import org.example.exception.ConflictException;
 import org.example.repository.RoleRepository;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,49 +24,89 @@ import java.util.List;
 public class RoleService extends BaseServiceImpl<Role, Long> {
 
     private final RoleRepository roleRepository;
+    private final ResponseCache responseCache;
+    private final ApplicationEventPublisher eventPublisher;
     private static final Logger log = LogUtils.getLogger(RoleService.class);
 
     @Autowired
-    public RoleService(RoleRepository roleRepository) {
+    public RoleService(RoleRepository roleRepository, ResponseCache responseCache,
+                       ApplicationEventPublisher eventPublisher) {
         this.roleRepository = roleRepository;
+        this.responseCache = responseCache;
+        this.eventPublisher = eventPublisher;
     }
 
     // Create Role
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.ROLES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.ROLE_BY_NAME, allEntries = true)
+    })
     public Role createRole(Role role) {
-        log.info("Attempting to create role: {}", role.getName());
+        log.debug("Attempting to create role: {}", role.getName());
         if (roleRepository.existsByName(role.getName())) {
             throw new RuntimeException("Role already exists!");
         }
         Role saved = roleRepository.save(role);
+        responseCache.invalidate(ResponseCache.Region.ROLES);
         log.info("Role created successfully with id: {}", saved.getId());
         return saved;
     }
 
-    // Get all roles
+    // Get all roles (cached results are loaded from the primary, never from a lagging replica)
+    @Cacheable(cacheNames = CacheConfig.ROLES, key = "'all'")
+    @Transactional(readOnly = true)
     public List<Role> getAllRoles() {
         log.debug("Fetching all roles...");
-        return roleRepository.findAll();
+        return ReadRouting.onPrimary(roleRepository::findAll);
     }
 
     // Get role by ID
+    @Cacheable(cacheNames = CacheConfig.ROLE_BY_ID, key = "#id")
+    @Transactional(readOnly = true)
     public Role getRoleById(Long id) {
         log.debug("Fetching role with id={}", id);
-        return roleRepository.findById(id)
+        return ReadRouting.onPrimary(() -> roleRepository.findById(id))
                 .orElseThrow(() -> new RuntimeException("Role not found!"));
     }
 
     // Update role
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.ROLES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.ROLE_BY_ID, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.ROLE_BY_NAME, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.USER_ROLES, allEntries = true)
+    })
     public Role updateRole(Long id, Role updatedRole) {
-        log.info("Updating role id={} with new name={}", id, updatedRole.getName());
+        log.debug("Updating role id={} with new name={}", id, updatedRole.getName());
         Role role = getRoleById(id);
-        Role saved = roleRepository.save(role);
+        // a client that sends the version it read (or an If-Match) gets a 409 instead of overwriting a newer change
+        if (updatedRole.getVersion() != null && !updatedRole.getVersion().equals(role.getVersion())) {
+            throw new ConflictException("Role " + id + " was modified by another request, reload and retry");
+        }
+        if (updatedRole.getName() != null) {
+            role.setName(updatedRole.getName());
+        }
+        Role saved = roleRepository.saveAndFlush(role);
+        eventPublisher.publishEvent(RoleChangedEvent.updated(saved));
+        responseCache.invalidate(ResponseCache.Region.ROLES);
+        // cached task responses embed the assignee's roles
+        responseCache.invalidate(ResponseCache.Region.TASKS);
         log.info("Role updated successfully id={}", saved.getId());
         return saved;
     }
 
-    // Delete role
-    public void deleteRole(Long id) {
+    // Delete role; expectedVersion (the version an If-Match matched) makes it conditional on @Version
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.ROLES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.ROLE_BY_ID, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.ROLE_BY_NAME, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.USER_ROLES, allEntries = true)
+    })
+    public void deleteRole(Long id, Long expectedVersion) {
         log.warn("Deleting role id={}", id);
-        roleRepository.deleteById(id);
+        deleteById(id, expectedVersion);
+        eventPublisher.publishEvent(RoleChangedEvent.deleted(id));
+        responseCache.invalidate(ResponseCache.Region.ROLES);
+        responseCache.invalidate(ResponseCache.Region.TASKS);
     }
 }
\ No newline at end of file
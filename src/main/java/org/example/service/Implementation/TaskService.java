@@ -1,78 +1,692 @@
 package org.example.service.Implementation;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.Query;
 import org.apache.coyote.BadRequestException;
 import org.example.Logging.LogUtils;
+import org.example.admission.ExportAdmission;
+import org.example.admission.SkipDbAdmission;
+import org.example.cache.ResponseCache;
+import org.example.datasource.ReadRouting;
+import org.example.domain.Priority;
+import org.example.domain.Role;
 import org.example.domain.Task;
+import org.example.domain.TaskArchive;
+import org.example.domain.TaskStatus;
+import org.example.domain.User;
+import org.example.domain.Versioned;
+import org.example.dto.CursorPage;
+import org.example.dto.TaskArchiveQuery;
+import org.example.dto.TaskFilter;
+import org.example.dto.TaskSearchHit;
+import org.example.dto.TaskStats;
+import org.example.dto.TaskStatusUpdate;
+import org.example.dto.TaskSummary;
+import org.example.event.TaskChangedEvent;
+import org.example.exception.ConflictException;
 import org.example.exception.NotFoundException;
+import org.example.exception.ServiceUnavailableException;
+import org.example.index.TaskDeadlineIndex;
+import org.example.index.TaskSearchIndex;
+import org.example.index.TaskStatsCounters;
+import org.example.repository.TaskArchiveRepository;
+import org.example.repository.TaskArchiveSpecifications;
 import org.example.repository.TaskRepository;
+import org.example.repository.TaskSpecifications;
+import org.hibernate.Hibernate;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class TaskService extends BaseServiceImpl<Task, Long> {
     private static final Logger log = LogUtils.getLogger(TaskService.class);
+
+    public static final int DEFAULT_SEARCH_LIMIT = 20;
+    public static final int MAX_SEARCH_LIMIT = 100;
+
+    // Merge-patchable Task fields and their columns
+    private static final Map<String, String> PATCH_COLUMNS = Map.of(
+            "title", "title",
+            "taskStatus", "task_status",
+            "taskPriority", "task_priority",
+            "deadline", "deadline",
+            "assignedTo", "assigned_to_id");
+    // Write-behind flush; COALESCE keeps the column when the queued update did not set it
+    private static final String STATUS_UPDATE_SQL = "UPDATE task SET task_status = COALESCE(?, task_status), "
+            + "task_priority = COALESCE(?, task_priority), updated_at = ?, version = version + 1 WHERE id = ?";
+    // Archival: COMPLETED tasks last changed before the cutoff; rows without timestamps have no known age and stay.
+    // Rows a concurrent writer holds are skipped rather than waited for
+    private static final String ARCHIVABLE_CONDITION = "task_status = 'COMPLETED' AND COALESCE(updated_at, created_at) < ?";
+    private static final String ARCHIVE_SELECT_SQL = "SELECT id FROM task WHERE " + ARCHIVABLE_CONDITION
+            + " ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+    private static final String ARCHIVE_INSERT_SQL = "INSERT INTO task_archive (id, title, task_status, task_priority, "
+            + "created_at, updated_at, deadline, assigned_to_id, version, completed_at, archived_at) "
+            + "SELECT id, title, task_status, task_priority, created_at, updated_at, deadline, assigned_to_id, version, "
+            + "COALESCE(updated_at, created_at), ? FROM task WHERE id IN (%s)";
+    private static final String ARCHIVE_DELETE_SQL = "DELETE FROM task WHERE id IN (%s)";
+    // Feed "left" events need a task's assignee and status before a JDBC update
+    private static final String PREVIOUS_STATE_SQL = "SELECT id, assigned_to_id, task_status FROM task WHERE id IN (%s) "
+            + "ORDER BY id FOR UPDATE";
+    // Fields clients may sort filtered listings by
+    private static final Set<String> SORT_FIELDS = Set.of(
+            "id", "title", "taskStatus", "taskPriority", "deadline", "createdAt", "updatedAt");
     private final TaskRepository taskRepository;
+    private final TaskArchiveRepository archiveRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskDeadlineIndex deadlineIndex;
+    private final TaskSearchIndex searchIndex;
+    private final TaskStatsCounters statsCounters;
+    private final ResponseCache responseCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final int exportChunkSize;
+    private final int jdbcBatchSize;
+    private final int bulkMaxItems;
 
     @Autowired
-    public TaskService(TaskRepository taskRepository) {
+    public TaskService(TaskRepository taskRepository, TaskArchiveRepository archiveRepository, ObjectMapper objectMapper,
+                       ApplicationEventPublisher eventPublisher, TaskDeadlineIndex deadlineIndex,
+                       TaskSearchIndex searchIndex, TaskStatsCounters statsCounters,
+                       ResponseCache responseCache, JdbcTemplate jdbcTemplate,
+                       @Value("${taskfodge.export.chunk-size:500}") int exportChunkSize,
+                       @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int jdbcBatchSize,
+                       @Value("${taskfodge.bulk.max-items:10000}") int bulkMaxItems) {
         this.taskRepository = taskRepository;
+        this.archiveRepository = archiveRepository;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.deadlineIndex = deadlineIndex;
+        this.searchIndex = searchIndex;
+        this.statsCounters = statsCounters;
+        this.responseCache = responseCache;
+        this.jdbcTemplate = jdbcTemplate;
+        this.exportChunkSize = exportChunkSize;
+        this.jdbcBatchSize = jdbcBatchSize;
+        this.bulkMaxItems = bulkMaxItems;
     }
 
     public Task createTask(Task task) throws BadRequestException {
-        log.info("Creating task with title={}", task.getTitle());
-        task.setCreatedAt(LocalDateTime.now());
-        task.setUpdatedAt(LocalDateTime.now());
-        if (task.getDeadline() != null && task.getDeadline().isBefore(task.getCreatedAt())) {
-            throw new BadRequestException("Deadline cannot be before creation date!");
-        }
-        Task saved = taskRepository.save(task);
+        log.debug("Creating task with title={}", task.getTitle());
+        prepareForCreate(task, LocalDateTime.now());
+        Task saved = publish(TaskChangedEvent.created(taskRepository.save(task)));
         log.info("Task created successfully with id={}", saved.getId());
         return saved;
     }
 
+    // Bulk create: validated per item like createTask, then flushed as batched INSERTs one JDBC batch at a time
+    public List<Task> createTasks(List<Task> tasks) throws BadRequestException {
+        checkBulkSize(tasks);
+        log.debug("Bulk creating {} tasks", tasks.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < tasks.size(); i++) {
+            try {
+                prepareForCreate(tasks.get(i), now);
+            } catch (BadRequestException ex) {
+                throw new BadRequestException("Task[" + i + "]: " + ex.getMessage());
+            }
+        }
+
+        List<Task> saved = new ArrayList<>(tasks.size());
+        for (int from = 0; from < tasks.size(); from += jdbcBatchSize) {
+            List<Task> chunk = tasks.subList(from, Math.min(from + jdbcBatchSize, tasks.size()));
+            List<Task> persisted = taskRepository.saveAll(chunk);
+            entityManager.flush();
+            persisted.forEach(t -> saved.add(publish(TaskChangedEvent.created(t))));
+            entityManager.clear();
+        }
+        log.info("Bulk created {} tasks", saved.size());
+        return saved;
+    }
+
+    @Transactional(readOnly = true)
     public Task getTaskByIdOrThrow(Long id) {
         log.debug("Fetching task with id={}", id);
         return findById(id).orElseThrow(() -> new NotFoundException("Task not found!"));
     }
 
     public Task updateTask(Long taskId, Task updatedTask) {
-        log.info("Updating task id={}", taskId);
+        log.debug("Updating task id={}", taskId);
         Task task = findById(taskId).orElseThrow(() -> new NotFoundException("Task not found!"));
-        if (updatedTask.getTitle() != null) {
-            task.setTitle(updatedTask.getTitle());
+        TaskChangedEvent.Previous previous = TaskChangedEvent.Previous.of(task);
+        applyChanges(task, updatedTask, LocalDateTime.now());
+        // flushed first so the snapshot (and the response ETag) carry the incremented version
+        Task saved = publish(TaskChangedEvent.updated(taskRepository.saveAndFlush(task), previous));
+        log.info("Task updated successfully id={}", saved.getId());
+        return saved;
+    }
+
+    // JSON Merge Patch (RFC 7396) as one UPDATE returning the row: no SELECT first, only the
+    // patched columns are written, and a "version" member turns it into a compare-and-set on @Version
+    public Task patchTask(Long taskId, JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            throw new org.example.exception.BadRequestException("Patch must be a JSON object");
         }
-        if (updatedTask.getTaskStatus() != null) {
-            task.setTaskStatus(updatedTask.getTaskStatus());
+        log.debug("Patching task id={}", taskId);
+        StringBuilder sql = new StringBuilder("UPDATE task SET ");
+        Map<String, Object> params = new LinkedHashMap<>();
+        Long expectedVersion = null;
+        for (Iterator<Map.Entry<String, JsonNode>> fields = patch.fields(); fields.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            String name = field.getKey();
+            JsonNode value = field.getValue();
+            if (name.equals("version")) {
+                if (!value.canConvertToExactIntegral()) {
+                    throw new org.example.exception.BadRequestException("version must be an integer");
+                }
+                expectedVersion = value.asLong();
+                continue;
+            }
+            if (name.equals("id") && value.asLong() == taskId) {
+                continue;
+            }
+            String column = PATCH_COLUMNS.get(name);
+            if (column == null) {
+                throw new org.example.exception.BadRequestException("Field '" + name + "' cannot be patched");
+            }
+            // merge-patch null clears the column; written as a literal so no parameter type is needed
+            Object parameter = patchValue(name, value);
+            if (parameter == null) {
+                sql.append(column).append(" = NULL, ");
+            } else {
+                sql.append(column).append(" = :").append(name).append(", ");
+                params.put(name, parameter);
+            }
         }
-        if (updatedTask.getTaskPriority() != null) {
-            task.setTaskPriority(updatedTask.getTaskPriority());
+        sql.append("updated_at = :updatedAt, version = version + 1 WHERE id = :id");
+        if (expectedVersion != null) {
+            sql.append(" AND version = :version");
+            params.put("version", expectedVersion);
         }
-        if (updatedTask.getDeadline() != null) {
-            task.setDeadline(updatedTask.getDeadline());
+        params.put("updatedAt", LocalDateTime.now());
+        params.put("id", taskId);
+        // only a patch moving the task to another assignee or status needs its previous state (feed "left" events)
+        TaskChangedEvent.Previous previous = null;
+        if (patch.has("assignedTo") || patch.has("taskStatus")) {
+            previous = lockPreviousStates(List.of(taskId)).get(taskId);
+            if (previous == null) {
+                throw new NotFoundException("Task not found!");
+            }
         }
-        if (updatedTask.getAssignedTo() != null) {
-            task.setAssignedTo(updatedTask.getAssignedTo());
+
+        Query query = entityManager.createNativeQuery(returningRow(sql.toString()), Task.class);
+        params.forEach(query::setParameter);
+        List<?> rows = query.getResultList();
+        if (rows.isEmpty()) {
+            // only the failure path pays for a second statement
+            if (taskRepository.existsById(taskId)) {
+                throw new ConflictException("Task was modified by another request, reload and retry");
+            }
+            throw new NotFoundException("Task not found!");
         }
+        Task row = (Task) rows.get(0);
+        Task patched = publish(TaskChangedEvent.updated(row, previous != null ? previous : TaskChangedEvent.Previous.of(row)));
+        log.info("Task patched successfully id={}", taskId);
+        return patched;
+    }
 
-        task.setUpdatedAt(LocalDateTime.now());
-        Task saved = taskRepository.save(task);
-        log.info("Task updated successfully id={}", saved.getId());
+    // PostgreSQL appends RETURNING to the UPDATE; H2 selects the updated row from its FINAL TABLE instead
+    private String returningRow(String update) {
+        Dialect dialect = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect();
+        return dialect instanceof H2Dialect ? "SELECT * FROM FINAL TABLE (" + update + ")" : update + " RETURNING *";
+    }
+
+    // Bulk update: one IN-list SELECT per chunk, changes flushed as batched UPDATEs
+    public List<Task> updateTasks(List<Task> updates) throws BadRequestException {
+        checkBulkSize(updates);
+        log.debug("Bulk updating {} tasks", updates.size());
+        Map<Long, Task> changesById = new LinkedHashMap<>();
+        for (int i = 0; i < updates.size(); i++) {
+            Task update = updates.get(i);
+            if (update.getId() == null) {
+                throw new BadRequestException("Task[" + i + "]: id is required for bulk update");
+            }
+            if (changesById.putIfAbsent(update.getId(), update) != null) {
+                throw new BadRequestException("Task[" + i + "]: duplicate id " + update.getId());
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = new ArrayList<>(changesById.keySet());
+        List<Task> saved = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += jdbcBatchSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + jdbcBatchSize, ids.size()));
+            List<Task> found = taskRepository.findAllById(chunk);
+            if (found.size() != chunk.size()) {
+                throw new NotFoundException("Task not found!");
+            }
+            Map<Long, TaskChangedEvent.Previous> previous = new HashMap<>();
+            for (Task task : found) {
+                previous.put(task.getId(), TaskChangedEvent.Previous.of(task));
+                applyChanges(task, changesById.get(task.getId()), now);
+            }
+            entityManager.flush();
+            found.forEach(t -> saved.add(publish(TaskChangedEvent.updated(t, previous.get(t.getId())))));
+            entityManager.clear();
+        }
+        log.info("Bulk updated {} tasks", saved.size());
         return saved;
     }
+
+    // Write-behind flush (TaskUpdateCoalescer): the coalesced updates as one JDBC batch of UPDATEs, then one
+    // IN-list SELECT per chunk so change events still carry full snapshots. Returns the rows written;
+    // ids of tasks deleted since the update was queued are skipped.
+    public int applyStatusUpdates(Collection<TaskStatusUpdate> updates) {
+        List<TaskStatusUpdate> batch = new ArrayList<>(updates);
+        Map<Long, TaskChangedEvent.Previous> previous = lockPreviousStates(batch.stream().map(TaskStatusUpdate::id).toList());
+        LocalDateTime now = LocalDateTime.now();
+        int[][] counts = jdbcTemplate.batchUpdate(STATUS_UPDATE_SQL, batch, jdbcBatchSize, (ps, update) -> {
+            ps.setString(1, update.taskStatus() == null ? null : update.taskStatus().name());
+            ps.setString(2, update.taskPriority() == null ? null : update.taskPriority().name());
+            ps.setObject(3, now);
+            ps.setLong(4, update.id());
+        });
+        List<Long> written = new ArrayList<>(batch.size());
+        int i = 0;
+        for (int[] chunk : counts) {
+            for (int count : chunk) {
+                // drivers may report SUCCESS_NO_INFO (-2) instead of a row count
+                if (count != 0) {
+                    written.add(batch.get(i).id());
+                }
+                i++;
+            }
+        }
+        for (int from = 0; from < written.size(); from += jdbcBatchSize) {
+            List<Task> found = taskRepository.findAllById(written.subList(from, Math.min(from + jdbcBatchSize, written.size())));
+            found.forEach(t -> publish(TaskChangedEvent.updated(t, previous.get(t.getId()))));
+            entityManager.clear();
+        }
+        log.debug("Applied {} queued status updates, {} tasks no longer exist", written.size(), batch.size() - written.size());
+        return written.size();
+    }
+
+    // One archival batch (TaskArchiver): locks up to limit archivable rows, copies them into task_archive and
+    // deletes them, all in this short transaction. Returns the number of tasks moved.
+    public int archiveCompleted(LocalDateTime cutoff, int limit) {
+        List<Long> ids = jdbcTemplate.queryForList(ARCHIVE_SELECT_SQL, Long.class, cutoff, limit);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+        List<Object> insertArgs = new ArrayList<>(ids.size() + 1);
+        insertArgs.add(LocalDateTime.now());
+        insertArgs.addAll(ids);
+        int copied = jdbcTemplate.update(ARCHIVE_INSERT_SQL.formatted(placeholders), insertArgs.toArray());
+        int deleted = jdbcTemplate.update(ARCHIVE_DELETE_SQL.formatted(placeholders), ids.toArray());
+        if (copied != ids.size() || deleted != ids.size()) {
+            // rolls the batch back; the rows are locked, so this means the schema is not what the SQL expects
+            throw new IllegalStateException("Archiving " + ids.size() + " tasks copied " + copied + " and deleted " + deleted);
+        }
+        ids.forEach(id -> eventPublisher.publishEvent(TaskChangedEvent.archived(id)));
+        tableVersions.changed(Task.class);
+        responseCache.invalidate(ResponseCache.Region.TASKS);
+        log.debug("Archived {} completed tasks, ids {}..{}", ids.size(), ids.get(0), ids.get(ids.size() - 1));
+        return ids.size();
+    }
+
+    // Assignee and status of the given tasks before a JDBC update, for the change events. The rows are locked
+    // (in id order, like any other batch) so nothing changes them between this read and the UPDATE
+    private Map<Long, TaskChangedEvent.Previous> lockPreviousStates(List<Long> ids) {
+        Map<Long, TaskChangedEvent.Previous> previous = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += jdbcBatchSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + jdbcBatchSize, ids.size()));
+            String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+            jdbcTemplate.query(PREVIOUS_STATE_SQL.formatted(placeholders), rs -> {
+                Long assigneeId = rs.getObject(2, Long.class);
+                String status = rs.getString(3);
+                previous.put(rs.getLong(1), new TaskChangedEvent.Previous(assigneeId,
+                        status == null ? null : TaskStatus.valueOf(status)));
+            }, chunk.toArray());
+        }
+        return previous;
+    }
+
+    // Tasks the archival job would move now; a progress estimate, not locked
+    @Transactional(readOnly = true)
+    public long countArchivable(LocalDateTime cutoff) {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM task WHERE " + ARCHIVABLE_CONDITION, Long.class, cutoff);
+        return count == null ? 0 : count;
+    }
+
+    @Transactional(readOnly = true)
     public List<Task> getTasksWithCloseDeadline() {
         LocalDateTime now = LocalDateTime.now();
         LocalDateTime next24Hours = now.plusHours(24); // tasks due in next 24h
-        return taskRepository.findByDeadlineBetween(now, next24Hours);
+        return getTasksDueBetween(now, next24Hours);
+    }
+
+    // Open tasks due in [from, to], answered from the in-memory deadline index once it is built
+    @Transactional(readOnly = true)
+    public List<Task> getTasksDueBetween(LocalDateTime from, LocalDateTime to) {
+        if (from.isAfter(to)) {
+            throw new org.example.exception.BadRequestException("'from' must not be after 'to'");
+        }
+        if (deadlineIndex.isReady()) {
+            return deadlineIndex.findDueBetween(from, to);
+        }
+        return taskRepository.findOpenByDeadlineBetween(from, to);
+    }
+
+    // Filtered listing; equality filters on assignee/status/priority plus a deadline bound map onto the task indexes
+    @Transactional(readOnly = true)
+    public List<Task> findTasks(TaskFilter filter, List<String> sort, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new org.example.exception.BadRequestException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        Sort order = parseSort(sort);
+        List<Task> tasks = taskRepository.findBy(TaskSpecifications.matching(filter), q -> q.sortBy(order)
+                .project(pageFetchPaths())
+                .limit(limit)
+                .all());
+        initializeAssigneeRoles(tasks);
+        return tasks;
     }
+
+    // Keyset page of tasks; assignee roles are loaded here too, since the response is written after the transaction
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Task> findPage(String cursor, int size) {
+        CursorPage<Task> page = super.findPage(cursor, size);
+        initializeAssigneeRoles(page.getItems());
+        return page;
+    }
+
+    // Archived tasks, most recently completed first; a completion period narrows the scan to its partitions
+    @Transactional(readOnly = true)
+    public List<TaskArchive> searchArchive(TaskArchiveQuery query, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new org.example.exception.BadRequestException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (query.getCompletedFrom() != null && query.getCompletedBefore() != null
+                && !query.getCompletedFrom().isBefore(query.getCompletedBefore())) {
+            throw new org.example.exception.BadRequestException("'completedFrom' must be before 'completedBefore'");
+        }
+        Sort order = Sort.by(Sort.Direction.DESC, "completedAt").and(Sort.by(Sort.Direction.DESC, "id"));
+        return archiveRepository.findBy(TaskArchiveSpecifications.matching(query), q -> q.sortBy(order)
+                .limit(limit)
+                .all());
+    }
+
+    @Transactional(readOnly = true)
+    public TaskArchive getArchivedTask(Long id) {
+        return archiveRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException("Archived task not found!"));
+    }
+
+    // Ranked title search from the in-memory index; runs without a transaction since it never reads the database
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @SkipDbAdmission
+    public List<TaskSearchHit> searchTasks(String query, TaskStatus status, Priority priority, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new org.example.exception.BadRequestException("Search query must not be blank");
+        }
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            throw new org.example.exception.BadRequestException("Search limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        }
+        // a LIKE '%q%' fallback would scan the whole table, so callers retry until the index is built
+        if (!searchIndex.isReady()) {
+            throw new ServiceUnavailableException("Search index is still loading, please retry");
+        }
+        return searchIndex.search(query, status, priority, limit);
+    }
+
+    // Dashboard counts from the in-memory counters; constant cost however many tasks exist
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @SkipDbAdmission
+    public TaskStats getTaskStats() {
+        if (!statsCounters.isReady()) {
+            throw new ServiceUnavailableException("Task statistics are still loading, please retry");
+        }
+        return statsCounters.snapshot();
+    }
+
+    // Flat projection for list views, a single query regardless of row count
+    @Transactional(readOnly = true)
+    public List<TaskSummary> getTaskSummaries() {
+        log.debug("Fetching task summaries...");
+        return taskRepository.findAllSummaries();
+    }
+
+    // Export all tasks as newline-delimited JSON, holding at most one chunk of entities in memory
+    @Transactional(readOnly = true)
+    @ExportAdmission
+    public long exportTasks(OutputStream out) throws IOException {
+        log.info("Starting task export");
+        long count = 0;
+        try (Stream<Task> tasks = taskRepository.streamAll();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            Iterator<Task> it = tasks.iterator();
+            while (it.hasNext()) {
+                writer.writeValue(generator, it.next());
+                generator.writeRaw('\n');
+                count++;
+                // flush the first row immediately so the client starts receiving, then once per chunk
+                if (count == 1 || count % exportChunkSize == 0) {
+                    generator.flush();
+                    entityManager.clear();
+                }
+            }
+            generator.flush();
+        }
+        log.info("Task export finished, rows={}", count);
+        return count;
+    }
+
+    // "field" or "field,asc|desc", repeatable; id is always the last key so ties come back in a stable order
+    private static Sort parseSort(List<String> sort) {
+        Sort order = Sort.unsorted();
+        for (String spec : sort == null ? List.<String>of() : sort) {
+            String[] parts = spec.split(",");
+            String field = parts[0].trim();
+            if (!SORT_FIELDS.contains(field) || parts.length > 2) {
+                throw new org.example.exception.BadRequestException("Cannot sort by '" + spec + "'");
+            }
+            Sort.Direction direction = parts.length == 2
+                    ? Sort.Direction.fromOptionalString(parts[1].trim().toUpperCase(Locale.ROOT))
+                    .orElseThrow(() -> new org.example.exception.BadRequestException("Invalid sort direction in '" + spec + "'"))
+                    : Sort.Direction.ASC;
+            order = order.and(Sort.by(direction, field));
+        }
+        return order.getOrderFor("id") == null ? order.and(Sort.by("id")) : order;
+    }
+
     // Delete task
     public void deleteTask(Long id) {
+        deleteTask(id, null);
+    }
+
+    // expectedVersion (the version an If-Match matched) makes the delete conditional on @Version
+    public void deleteTask(Long id, Long expectedVersion) {
         log.warn("Deleting task id={}", id);
-        taskRepository.deleteById(id);
+        super.deleteById(id, expectedVersion);
+        eventPublisher.publishEvent(TaskChangedEvent.deleted(id));
+        responseCache.invalidate(ResponseCache.Region.TASKS);
+    }
+
+    // Generic BaseController writes go through the same paths so change events are always published
+    @Override
+    public Task save(Task entity) {
+        boolean isNew = entity.getId() == null;
+        if (entity.getAssignedTo() != null) {
+            entity.setAssignedTo(assigneeReference(entity.getAssignedTo()));
+        }
+        // the merge loads the current row anyway; reading it first only captures the previous state
+        Task current = isNew ? null : entityManager.find(Task.class, entity.getId());
+        TaskChangedEvent.Previous previous = current == null ? null : TaskChangedEvent.Previous.of(current);
+        Task saved = super.save(entity);
+        return publish(isNew ? TaskChangedEvent.created(saved) : TaskChangedEvent.updated(saved, previous));
+    }
+
+    // Task, assignee and role versions without loading the entity graph; read from the primary like findVersion
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<String> findRepresentationVersion(Long id) {
+        return ReadRouting.onPrimary(() -> entityManager.createQuery("select t.version, u.version, coalesce(sum(r.version), 0) "
+                        + "from Task t left join t.assignedTo u left join u.roles r where t.id = :id "
+                        + "group by t.version, u.version", Object[].class)
+                .setParameter("id", id)
+                .getResultList()
+                .stream()
+                .findFirst()
+                .map(row -> Versioned.representationVersion((Long) row[0],
+                        row[1] == null ? null : (Long) row[1] + ((Number) row[2]).longValue())));
+    }
+
+    @Override
+    protected List<Class<?>> embeddedTypes() {
+        return List.of(User.class, Role.class);
+    }
+
+    @Override
+    protected List<String> pageFetchPaths() {
+        return List.of("assignedTo");
+    }
+
+    @Override
+    public Task update(Long id, Task entity) {
+        return updateTask(id, entity);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        deleteTask(id);
+    }
+
+    @Override
+    public void deleteById(Long id, Long expectedVersion) {
+        deleteTask(id, expectedVersion);
+    }
+
+    // Writes answer with the event's detached snapshot, so writing the response never lazily loads
+    // an assignee reference (which would fail once the persistence context is cleared or closed)
+    private Task publish(TaskChangedEvent event) {
+        eventPublisher.publishEvent(event);
+        // JDBC writes (patch, queued status updates) bypass the entity listener
+        tableVersions.changed(Task.class);
+        responseCache.invalidate(ResponseCache.Region.TASKS);
+        return event.getTask();
+    }
+
+    // Request bodies carry the assignee as {"id": n}; a reference sets the FK without a SELECT
+    // (a detached User with a null @Version would be rejected as transient)
+    private User assigneeReference(User assignee) {
+        return assignee.getId() == null ? assignee : entityManager.getReference(User.class, assignee.getId());
+    }
+
+    // Assignee roles are a collection, so they are batch-loaded after the limited query rather than joined into it
+    private static void initializeAssigneeRoles(List<Task> tasks) {
+        tasks.stream()
+                .map(Task::getAssignedTo)
+                .filter(Objects::nonNull)
+                .forEach(user -> Hibernate.initialize(user.getRoles()));
+    }
+
+    private void prepareForCreate(Task task, LocalDateTime now) throws BadRequestException {
+        if (task.getAssignedTo() != null) {
+            task.setAssignedTo(assigneeReference(task.getAssignedTo()));
+        }
+        task.setCreatedAt(now);
+        task.setUpdatedAt(now);
+        if (task.getDeadline() != null && task.getDeadline().isBefore(task.getCreatedAt())) {
+            throw new BadRequestException("Deadline cannot be before creation date!");
+        }
+    }
+
+    private Object patchValue(String name, JsonNode value) {
+        if (value.isNull()) {
+            return null;
+        }
+        try {
+            return switch (name) {
+                case "title" -> {
+                    if (!value.isTextual()) {
+                        throw new IllegalArgumentException("title must be a string");
+                    }
+                    yield value.asText();
+                }
+                case "taskStatus" -> objectMapper.treeToValue(value, TaskStatus.class).name();
+                case "taskPriority" -> objectMapper.treeToValue(value, Priority.class).name();
+                case "deadline" -> objectMapper.treeToValue(value, LocalDateTime.class);
+                case "assignedTo" -> {
+                    JsonNode id = value.get("id");
+                    if (id == null || !id.canConvertToExactIntegral()) {
+                        throw new IllegalArgumentException("assignedTo needs a numeric id");
+                    }
+                    yield id.asLong();
+                }
+                default -> throw new IllegalArgumentException(name);
+            };
+        } catch (JsonProcessingException | IllegalArgumentException ex) {
+            throw new org.example.exception.BadRequestException("Invalid value for '" + name + "'");
+        }
+    }
+
+    private void applyChanges(Task task, Task updatedTask, LocalDateTime now) {
+        // a client that sends the version it read gets a 409 instead of overwriting a newer change
+        if (updatedTask.getVersion() != null && !updatedTask.getVersion().equals(task.getVersion())) {
+            throw new ConflictException("Task " + task.getId() + " was modified by another request, reload and retry");
+        }
+        if (updatedTask.getTitle() != null) {
+            task.setTitle(updatedTask.getTitle());
+        }
+        if (updatedTask.getTaskStatus() != null) {
+            task.setTaskStatus(updatedTask.getTaskStatus());
+        }
+        if (updatedTask.getTaskPriority() != null) {
+            task.setTaskPriority(updatedTask.getTaskPriority());
+        }
+        if (updatedTask.getDeadline() != null) {
+            task.setDeadline(updatedTask.getDeadline());
+        }
+        if (updatedTask.getAssignedTo() != null) {
+            task.setAssignedTo(assigneeReference(updatedTask.getAssignedTo()));
+        }
+        task.setUpdatedAt(now);
+    }
+
+    private void checkBulkSize(List<Task> tasks) throws BadRequestException {
+        if (tasks == null || tasks.isEmpty()) {
+            throw new BadRequestException("Bulk request must contain at least one task");
+        }
+        if (tasks.size() > bulkMaxItems) {
+            throw new BadRequestException("Bulk request exceeds " + bulkMaxItems + " tasks");
+        }
     }
 }
@@ -1,16 +1,38 @@
 package org.example.service.Implementation;
 
 import org.example.Logging.LogUtils;
+import org.example.cache.ResponseCache;
+import org.example.config.CacheConfig;
+import org.example.datasource.ReadRouting;
 import org.example.domain.Role;
 import org.example.domain.User;
+import org.example.domain.Versioned;
+import org.example.dto.UserIdentity;
+import org.example.dto.UserSummary;
+import org.example.event.UserChangedEvent;
+import org.example.exception.ConflictException;
+import org.example.index.UserRegistrationFilter;
+import org.example.repository.RoleRepository;
 import org.example.repository.UserRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 
 @Service
@@ -19,50 +41,109 @@ public class UserService extends BaseServiceImpl<User, Long> {
 
     private static final Logger log = LogUtils.getLogger(UserService.class);
     private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserRegistrationFilter registrationFilter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ResponseCache responseCache;
+    private final String defaultRole;
 
     @Autowired
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, RoleRepository roleRepository, PasswordEncoder passwordEncoder,
+                       UserRegistrationFilter registrationFilter, ApplicationEventPublisher eventPublisher,
+                       ResponseCache responseCache,
+                       @Value("${taskfodge.registration.default-role:USER}") String defaultRole) {
         this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
         this.passwordEncoder = passwordEncoder;
+        this.registrationFilter = registrationFilter;
+        this.eventPublisher = eventPublisher;
+        this.responseCache = responseCache;
+        this.defaultRole = defaultRole;
     }
 
-    // Create User (with password hashing)
-    public User createUser(User user) {
-        log.info("Creating user with email={}", user.getEmail());
-        if (userRepository.existsByEmail(user.getEmail())) {
-            throw new RuntimeException("Email already exists!");
+    // The role every sign-up gets; another instance starting at the same time may create it first
+    // (outside a shared transaction, so losing that race does not mark one rollback-only)
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void ensureDefaultRole() {
+        if (roleRepository.existsByName(defaultRole)) {
+            return;
         }
-        if (userRepository.existsByUsername(user.getUserName())) {
-            throw new RuntimeException("Username already exists!");
+        try {
+            roleRepository.saveAndFlush(Role.builder().name(defaultRole).build());
+            log.info("Created default role {}", defaultRole);
+        } catch (DataIntegrityViolationException ex) {
+            log.debug("Default role {} was created concurrently", defaultRole);
         }
-        if(userRepository.existsByUserId(String.valueOf(user.getId()))){
-            throw new RuntimeException("Userid already exists!");
+    }
+
+    // Create User (with password hashing). Sign-up is anonymous, so roles sent by the client are
+    // ignored: the user gets the default role, anything else goes through assignRoles
+    public User createUser(User user) {
+        log.debug("Creating user with email={}", user.getEmail());
+        // the Bloom filter proves most new registrations unique; the unique indexes remain the real guard
+        UserRegistrationFilter.Verdict verdict = registrationFilter.check(user.getEmail(), user.getUserName());
+        if (verdict != UserRegistrationFilter.Verdict.NEW && !checkUnique(null, user.getEmail(), user.getUserName())) {
+            registrationFilter.recordFalsePositive(verdict);
         }
         user.setPassword(passwordEncoder.encode(user.getPassword()));
-        User saved = userRepository.save(user);
+        user.setRoles(defaultRoles());
+        User saved = saveUnique(user);
+        registrationFilter.add(saved.getEmail(), saved.getUserName());
         log.info("User created successfully with id={}", saved.getId());
         return saved;
     }
 
     // Get all users
+    @Transactional(readOnly = true)
     public List<User> getAllUsers() {
         log.debug("Fetching all users...");
         return userRepository.findAll();
     }
 
+    // Get users without roles or credentials
+    @Transactional(readOnly = true)
+    public List<UserSummary> getUserSummaries() {
+        log.debug("Fetching user summaries...");
+        return userRepository.findAllSummaries();
+    }
+
     // Get user by ID
+    @Transactional(readOnly = true)
     public User getUserById(Long id) {
         log.debug("Fetching user with id={}", id);
         return userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found!"));
     }
 
+    // Roles of a user, cached until the user's roles change; loaded from the primary so an
+    // eviction is never refilled from a replica that has not seen the change yet
+    @Cacheable(cacheNames = CacheConfig.USER_ROLES, key = "#userId")
+    @Transactional(readOnly = true)
+    public Set<Role> getUserRoles(Long userId) {
+        log.debug("Fetching roles of user id={}", userId);
+        User user = ReadRouting.onPrimary(() -> getUserById(userId));
+        return user.getRoles() == null ? Set.of() : Set.copyOf(user.getRoles());
+    }
+
     // Update user
+    @CacheEvict(cacheNames = CacheConfig.USER_ROLES, key = "#id")
     public User updateUser(Long id, User updatedUser) {
-        log.info("Updating user id={}", id);
+        log.debug("Updating user id={}", id);
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found!"));
+        // a client that sends the version it read (or an If-Match) gets a 409 instead of overwriting a newer change
+        if (updatedUser.getVersion() != null && !updatedUser.getVersion().equals(user.getVersion())) {
+            throw new ConflictException("User " + id + " was modified by another request, reload and retry");
+        }
+
+        boolean emailChanged = updatedUser.getEmail() != null && !updatedUser.getEmail().equals(user.getEmail());
+        boolean userNameChanged = updatedUser.getUserName() != null && !updatedUser.getUserName().equals(user.getUserName());
+        if (emailChanged || userNameChanged) {
+            checkUnique(id, emailChanged ? updatedUser.getEmail() : null,
+                    userNameChanged ? updatedUser.getUserName() : null);
+        }
 
         if (updatedUser.getUserName() != null) {
             user.setUserName(updatedUser.getUserName());
@@ -71,26 +152,107 @@ public class UserService extends BaseServiceImpl<User, Long> {
             user.setEmail(updatedUser.getEmail());
         }
         if (updatedUser.getPassword() != null) {
-            user.setPassword(updatedUser.getPassword());
-        }
-        if (updatedUser.getRoles() != null) {
-            user.setRoles(updatedUser.getRoles());
+            user.setPassword(passwordEncoder.encode(updatedUser.getPassword()));
         }
-        User saved = userRepository.save(user);
+        User saved = saveUnique(user);
+        registrationFilter.add(saved.getEmail(), saved.getUserName());
+        eventPublisher.publishEvent(UserChangedEvent.updated(saved));
+        // cached task responses embed the assignee
+        responseCache.invalidate(ResponseCache.Region.TASKS);
         log.info("User updated successfully id={}", saved.getId());
         return saved;
     }
 
-    // Delete user
-    public void deleteUser(Long id) {
+    // User and role versions without loading the user; read from the primary like findVersion
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<String> findRepresentationVersion(Long id) {
+        return ReadRouting.onPrimary(() -> entityManager.createQuery("select u.version, coalesce(sum(r.version), 0) "
+                        + "from User u left join u.roles r where u.id = :id group by u.version", Object[].class)
+                .setParameter("id", id)
+                .getResultList()
+                .stream()
+                .findFirst()
+                .map(row -> Versioned.representationVersion((Long) row[0], ((Number) row[1]).longValue())));
+    }
+
+    @Override
+    protected List<Class<?>> embeddedTypes() {
+        return List.of(Role.class);
+    }
+
+    // Delete user; expectedVersion (the version an If-Match matched) makes it conditional on @Version
+    @CacheEvict(cacheNames = CacheConfig.USER_ROLES, key = "#id")
+    public void deleteUser(Long id, Long expectedVersion) {
         log.warn("Deleting user id={}", id);
-        userRepository.deleteById(id);
+        deleteById(id, expectedVersion);
     }
 
     // Assign role
+    @CacheEvict(cacheNames = CacheConfig.USER_ROLES, key = "#userId")
     public User assignRoles(Long userId, Set<Role> roles) {
         User user = getUserById(userId);
-        user.setRoles(roles);
-        return userRepository.save(user);
+        user.setRoles(roleReferences(roles));
+        // flushed, so the event carries the bumped version
+        User saved = userRepository.saveAndFlush(user);
+        eventPublisher.publishEvent(UserChangedEvent.updated(saved));
+        responseCache.invalidate(ResponseCache.Region.TASKS);
+        return saved;
+    }
+
+    // The role as findByName returns it, possibly the cached detached copy: it carries its id and @Version, so the
+    // join row is written without loading it, and the response serializes its name (a bare reference would not)
+    private Set<Role> defaultRoles() {
+        Set<Role> roles = new HashSet<>();
+        roleRepository.findByName(defaultRole)
+                .ifPresentOrElse(roles::add,
+                        () -> log.warn("Default role {} does not exist, registering without roles", defaultRole));
+        return roles;
+    }
+
+    // Request bodies carry roles as {"id": n}; references set the join rows without loading the roles
+    // (detached roles with a null @Version would be rejected as transient)
+    private Set<Role> roleReferences(Set<Role> roles) {
+        if (roles == null) {
+            return null;
+        }
+        Set<Role> references = new HashSet<>();
+        for (Role role : roles) {
+            references.add(role.getId() == null ? role : entityManager.getReference(Role.class, role.getId()));
+        }
+        return references;
+    }
+
+    // Throws ConflictException on a clash with another user; returns whether any row matched at all
+    private boolean checkUnique(Long selfId, String email, String userName) {
+        List<UserIdentity> matches = userRepository.findIdentityConflicts(email, userName);
+        for (UserIdentity match : matches) {
+            if (Objects.equals(match.id(), selfId)) {
+                continue;
+            }
+            if (email != null && email.equals(match.email())) {
+                throw new ConflictException("Email already exists!");
+            }
+            if (userName != null && userName.equals(match.userName())) {
+                throw new ConflictException("Username already exists!");
+            }
+        }
+        return !matches.isEmpty();
+    }
+
+    // Flush inside the call so a unique-index violation (concurrent sign-up, skipped pre-check) maps to 409
+    private User saveUnique(User user) {
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException ex) {
+            String constraint = ex.getCause() instanceof ConstraintViolationException cve ? cve.getConstraintName() : null;
+            if (constraint != null && constraint.equalsIgnoreCase(User.UK_EMAIL)) {
+                throw new ConflictException("Email already exists!");
+            }
+            if (constraint != null && constraint.equalsIgnoreCase(User.UK_USER_NAME)) {
+                throw new ConflictException("Username already exists!");
+            }
+            throw ex;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,54 @@
+-- task_archive range-partitioned by completion month (PostgreSQL).
+--
+-- Run once before the application first starts against the database; otherwise
+-- spring.jpa.hibernate.ddl-auto=update creates task_archive as a plain table. The columns
+-- and index names match the TaskArchive entity, so ddl-auto leaves this table alone.
+--
+-- Archival inserts always fall in months at least taskfodge.archive.min-age in the past.
+-- Monthly partitions are created here for the last 36 months and the next 3. Rows completed
+-- earlier than that land in task_archive_default. Keep partitions ahead of time with
+-- a monthly call, e.g. from pg_cron:
+--     SELECT task_archive_add_partitions(0, 3);
+-- Expired months are dropped in one statement, without a long DELETE:
+--     DROP TABLE task_archive_2023_01;
+
+CREATE TABLE IF NOT EXISTS task_archive (
+    id             bigint       NOT NULL,
+    title          varchar(255),
+    task_status    varchar(255),
+    task_priority  varchar(255),
+    created_at     timestamp(6),
+    updated_at     timestamp(6),
+    deadline       timestamp(6),
+    assigned_to_id bigint,
+    version        bigint       NOT NULL,
+    completed_at   timestamp(6) NOT NULL,
+    archived_at    timestamp(6) NOT NULL,
+    -- a partitioned table's primary key must include the partition key; ids stay unique in practice
+    PRIMARY KEY (id, completed_at)
+) PARTITION BY RANGE (completed_at);
+
+CREATE INDEX IF NOT EXISTS idx_task_archive_completed ON task_archive (completed_at);
+CREATE INDEX IF NOT EXISTS idx_task_archive_assignee_completed ON task_archive (assigned_to_id, completed_at);
+
+CREATE TABLE IF NOT EXISTS task_archive_default PARTITION OF task_archive DEFAULT;
+
+-- Creates the missing monthly partitions from months_back months ago to months_ahead months ahead
+CREATE OR REPLACE FUNCTION task_archive_add_partitions(months_back int, months_ahead int) RETURNS void AS $$
+DECLARE
+    month_start date;
+BEGIN
+    FOR i IN -months_back .. months_ahead LOOP
+        month_start := (date_trunc('month', now()) + make_interval(months => i))::date;
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF task_archive FOR VALUES FROM (%L) TO (%L)',
+                       'task_archive_' || to_char(month_start, 'YYYY_MM'),
+                       month_start, (month_start + interval '1 month')::date);
+    END LOOP;
+END
+$$ LANGUAGE plpgsql;
+
+SELECT task_archive_add_partitions(36, 3);
+
+-- Optional: lets title searches (q=) use an index instead of filtering rows
+-- CREATE EXTENSION IF NOT EXISTS pg_trgm;
+-- CREATE INDEX IF NOT EXISTS idx_task_archive_title_trgm ON task_archive USING gin (lower(title) gin_trgm_ops);
@@ -0,0 +1,139 @@
+package org.example.feed;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.domain.Task;
+import org.example.domain.TaskStatus;
+import org.example.domain.User;
+import org.example.event.TaskChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class TaskChangeFeedTest {
+
+    private static final int BUFFER_SIZE = 8;
+
+    private final TaskChangeFeed feed = new TaskChangeFeed(JsonMapper.builder().findAndAddModules().build(),
+            new SimpleMeterRegistry(), BUFFER_SIZE, Duration.ofMinutes(1), 10);
+    private final MockMvc mvc = MockMvcBuilders.standaloneSetup(new FeedController(feed)).build();
+
+    // the subscription endpoint without the rest of TaskController
+    @RestController
+    static class FeedController {
+
+        private final TaskChangeFeed feed;
+
+        FeedController(TaskChangeFeed feed) {
+            this.feed = feed;
+        }
+
+        @GetMapping("/changes")
+        SseEmitter changes(@RequestParam(required = false) Long assignee,
+                           @RequestParam(required = false) TaskStatus status,
+                           @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+            return feed.subscribe(new TaskChangeFeed.Filter(assignee, status), lastEventId);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        feed.shutdown();
+    }
+
+    @Test
+    void filteredSubscriberIsToldOnlyAboutTasksLeavingItsView() throws Exception {
+        MockHttpServletResponse mine = subscribe(get("/changes").param("assignee", "1").param("status", "PENDING"));
+
+        feed.onTaskChanged(TaskChangedEvent.created(task(1L, 1L, TaskStatus.PENDING)));
+        feed.onTaskChanged(TaskChangedEvent.created(task(2L, null, TaskStatus.PENDING)));
+        // never in the view, so it cannot leave it
+        feed.onTaskChanged(TaskChangedEvent.updated(task(2L, null, TaskStatus.IN_PROGRESS),
+                new TaskChangedEvent.Previous(null, TaskStatus.PENDING)));
+        feed.onTaskChanged(TaskChangedEvent.updated(task(1L, 1L, TaskStatus.COMPLETED),
+                new TaskChangedEvent.Previous(1L, TaskStatus.PENDING)));
+        feed.onTaskChanged(TaskChangedEvent.updated(task(1L, 1L, TaskStatus.COMPLETED),
+                new TaskChangedEvent.Previous(1L, TaskStatus.COMPLETED)));
+        // a writer that did not know the previous state: assume the task was in the view
+        feed.onTaskChanged(TaskChangedEvent.updated(task(3L, 2L, TaskStatus.PENDING)));
+        feed.onTaskChanged(TaskChangedEvent.deleted(2L));
+
+        assertEquals(List.of("created", "left", "left", "deleted"), await(mine, 4, "event:"));
+        assertTrue(mine.getContentAsString().contains("\"taskId\":3"));
+    }
+
+    @Test
+    void reconnectResumesAfterLastEventIdWhileItIsBuffered() throws Exception {
+        MockHttpServletResponse first = subscribe(get("/changes"));
+        for (long id = 1; id <= 3; id++) {
+            feed.onTaskChanged(TaskChangedEvent.created(task(id, null, TaskStatus.PENDING)));
+        }
+        List<String> ids = await(first, 3, "id:");
+
+        MockHttpServletResponse resumed = subscribe(get("/changes").header("Last-Event-ID", ids.get(0)));
+        assertEquals(ids.subList(1, 3), await(resumed, 2, "id:"));
+
+        MockHttpServletResponse unknown = subscribe(get("/changes").header("Last-Event-ID", "elsewhere-1"));
+        assertEquals(List.of("reset"), await(unknown, 1, "event:"));
+        assertEquals(List.of("{\"reason\":\"unknown\"}"), await(unknown, 1, "data:"));
+
+        // a whole buffer later the first change has been overwritten
+        for (long id = 4; id <= 3 + BUFFER_SIZE; id++) {
+            feed.onTaskChanged(TaskChangedEvent.created(task(id, null, TaskStatus.PENDING)));
+        }
+        MockHttpServletResponse expired = subscribe(get("/changes").header("Last-Event-ID", ids.get(0)));
+        assertEquals(List.of("reset"), await(expired, 1, "event:"));
+        assertEquals(List.of("{\"reason\":\"expired\"}"), await(expired, 1, "data:"));
+    }
+
+    private MockHttpServletResponse subscribe(MockHttpServletRequestBuilder builder) throws Exception {
+        return mvc.perform(builder).andExpect(request().asyncStarted()).andReturn().getResponse();
+    }
+
+    // values of the stream's complete lines with the given field prefix, once there are at least count of them
+    private static List<String> await(MockHttpServletResponse response, int count, String field) throws Exception {
+        long giveUp = System.currentTimeMillis() + 5_000;
+        while (true) {
+            List<String> values = new ArrayList<>();
+            // the emitter writes an event in several parts, so the last line may still be incomplete
+            String content = response.getContentAsString();
+            for (String line : content.substring(0, content.lastIndexOf('\n') + 1).split("\n")) {
+                if (line.startsWith(field)) {
+                    values.add(line.substring(field.length()));
+                }
+            }
+            if (values.size() >= count) {
+                return values;
+            }
+            assertTrue(System.currentTimeMillis() < giveUp, "expected " + count + " " + field + " lines, got " + values);
+            Thread.sleep(10);
+        }
+    }
+
+    private static Task task(Long id, Long assigneeId, TaskStatus status) {
+        return Task.builder()
+                .id(id)
+                .title("task " + id)
+                .taskStatus(status)
+                .assignedTo(assigneeId == null ? null : User.builder().id(assigneeId).version(0L).build())
+                .version(0L)
+                .build();
+    }
+}
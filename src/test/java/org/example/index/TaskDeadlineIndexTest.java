@@ -0,0 +1,84 @@
+package org.example.index;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.domain.Role;
+import org.example.domain.Task;
+import org.example.domain.TaskStatus;
+import org.example.domain.User;
+import org.example.event.RoleChangedEvent;
+import org.example.event.TaskChangedEvent;
+import org.example.event.UserChangedEvent;
+import org.example.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TaskDeadlineIndexTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    private final TaskDeadlineIndex index = new TaskDeadlineIndex(RepositoryStubs.stub(TaskRepository.class, Map.of()),
+            RepositoryStubs.transactionManager(), new SimpleMeterRegistry());
+
+    @Test
+    void userChangesReachEveryTaskAssignedToTheUser() {
+        User alice = user(7L, "alice", 0L, role(1L, "USER", 0L));
+        index.onTaskChanged(TaskChangedEvent.created(task(1L, alice, NOW.plusHours(1))));
+        index.onTaskChanged(TaskChangedEvent.created(task(2L, alice, NOW.plusHours(2))));
+        index.onTaskChanged(TaskChangedEvent.created(task(3L, user(8L, "bob", 0L), NOW.plusHours(3))));
+
+        index.onUserChanged(UserChangedEvent.updated(user(7L, "alice.smith", 1L, role(1L, "USER", 0L))));
+        // a change older than what the index holds (replayed onto a fresh build) is ignored
+        index.onUserChanged(UserChangedEvent.updated(user(7L, "alice-old", 0L)));
+
+        assertEquals(List.of("alice.smith", "alice.smith", "bob"), assigneeNames());
+    }
+
+    @Test
+    void roleRenamesAndDeletesReachTheAssigneesHoldingTheRole() {
+        index.onTaskChanged(TaskChangedEvent.created(task(1L,
+                user(7L, "alice", 0L, role(1L, "USER", 0L), role(2L, "ADMIN", 0L)), NOW.plusHours(1))));
+        index.onTaskChanged(TaskChangedEvent.created(task(2L, user(8L, "bob", 0L, role(1L, "USER", 0L)), NOW.plusHours(2))));
+
+        index.onRoleChanged(RoleChangedEvent.updated(role(1L, "MEMBER", 1L)));
+        index.onRoleChanged(RoleChangedEvent.deleted(2L));
+
+        List<Task> due = index.findDueBetween(NOW, NOW.plusDays(1));
+        assertEquals(Set.of("MEMBER"), roleNames(due.get(0)));
+        assertEquals(Set.of("MEMBER"), roleNames(due.get(1)));
+        assertEquals("1.1", due.get(1).representationVersion());
+    }
+
+    private List<String> assigneeNames() {
+        return index.findDueBetween(NOW, NOW.plusDays(1)).stream().map(t -> t.getAssignedTo().getUserName()).toList();
+    }
+
+    private static Set<String> roleNames(Task task) {
+        return task.getAssignedTo().getRoles().stream().map(Role::getName).collect(Collectors.toSet());
+    }
+
+    private static Task task(Long id, User assignee, LocalDateTime deadline) {
+        return Task.builder()
+                .id(id)
+                .title("task " + id)
+                .taskStatus(TaskStatus.PENDING)
+                .assignedTo(assignee)
+                .deadline(deadline)
+                .version(1L)
+                .build();
+    }
+
+    private static User user(Long id, String name, Long version, Role... roles) {
+        return User.builder().id(id).userName(name).roles(Set.of(roles)).version(version).build();
+    }
+
+    private static Role role(Long id, String name, Long version) {
+        return Role.builder().id(id).name(name).version(version).build();
+    }
+}
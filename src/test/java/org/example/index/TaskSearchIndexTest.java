@@ -0,0 +1,162 @@
+package org.example.index;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.domain.Priority;
+import org.example.domain.Task;
+import org.example.domain.TaskStatus;
+import org.example.dto.TaskSearchHit;
+import org.example.event.TaskChangedEvent;
+import org.example.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskSearchIndexTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    // the "database" a rebuild loads from, by task id
+    private final NavigableMap<Long, TaskSearchHit> rows = new TreeMap<>();
+    // runs once, inside the first range a rebuild loads
+    private Runnable duringLoad = () -> {
+    };
+
+    @Test
+    void ranksWholeTermsAbovePrefixesAndTitlesLeadingWithTheQuery() {
+        TaskSearchIndex index = index(12);
+        create(index, 1L, "Fix login bug", TaskStatus.PENDING, Priority.LOW);
+        create(index, 2L, "Login page redesign", TaskStatus.PENDING, Priority.HIGH);
+        create(index, 3L, "Logging cleanup", TaskStatus.COMPLETED, Priority.LOW);
+        create(index, 4L, "Bug in login flow", TaskStatus.IN_PROGRESS, Priority.HIGH);
+
+        // whole term 2, +1 when the title starts with it; equal scores keep the newer task first
+        assertEquals(List.of(2L, 4L, 1L), ids(index.search("login", null, null, 10)));
+        // prefix-only matches score 1, +1 when the title starts with it
+        assertEquals(List.of(3L, 2L, 4L, 1L), ids(index.search("log", null, null, 10)));
+        assertEquals(List.of(4L, 1L), ids(index.search("bug lo", null, null, 10)));
+        assertEquals(List.of(3L, 2L), ids(index.search("log", null, null, 2)));
+        assertTrue(index.search("login cleanup", null, null, 10).isEmpty());
+    }
+
+    @Test
+    void filtersByStatusAndPriority() {
+        TaskSearchIndex index = index(12);
+        create(index, 1L, "Fix login bug", TaskStatus.PENDING, Priority.LOW);
+        create(index, 2L, "Login page redesign", TaskStatus.PENDING, Priority.HIGH);
+        create(index, 3L, "Login audit", TaskStatus.COMPLETED, Priority.HIGH);
+
+        assertEquals(List.of(2L, 1L), ids(index.search("login", TaskStatus.PENDING, null, 10)));
+        assertEquals(List.of(3L, 2L), ids(index.search("login", null, Priority.HIGH, 10)));
+        assertEquals(List.of(3L), ids(index.search("login", TaskStatus.COMPLETED, Priority.HIGH, 10)));
+    }
+
+    @Test
+    void wordsLongerThanMaxGramMustPrefixATitleTerm() {
+        TaskSearchIndex index = index(4);
+        create(index, 1L, "Deployment notes", TaskStatus.PENDING, null);
+        create(index, 2L, "Deploy script", TaskStatus.PENDING, null);
+
+        // both share the indexed gram "depl", only one title has a term starting with the whole word
+        assertEquals(List.of(1L), ids(index.search("deploym", null, null, 10)));
+        assertEquals(List.of(2L, 1L), ids(index.search("depl", null, null, 10)));
+    }
+
+    @Test
+    void updatesAndRemovalsReplaceEarlierDocuments() {
+        TaskSearchIndex index = index(12);
+        create(index, 1L, "Quarterly report", TaskStatus.PENDING, null);
+        create(index, 2L, "Weekly report", TaskStatus.PENDING, null);
+
+        index.onTaskChanged(TaskChangedEvent.updated(task(1L, "Quarterly summary", TaskStatus.COMPLETED, null)));
+        assertEquals(List.of(2L), ids(index.search("report", null, null, 10)));
+        assertEquals(List.of(1L), ids(index.search("summary", TaskStatus.COMPLETED, null, 10)));
+
+        index.onTaskChanged(TaskChangedEvent.deleted(2L));
+        assertTrue(index.search("report", null, null, 10).isEmpty());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void rebuildMergesRangesInIdOrderAndReplaysChangesCommittedMeanwhile() {
+        // four load ranges of 50,001 ids each, one seeded task per range
+        for (long id : new long[]{10, 60_000, 120_000, 190_000}) {
+            rows.put(id, new TaskSearchHit(id, "Report " + id, TaskStatus.PENDING, Priority.MEDIUM));
+        }
+        rows.put(200_000L, new TaskSearchHit(200_000L, "Unrelated", TaskStatus.PENDING, Priority.MEDIUM));
+        TaskSearchIndex index = index(12);
+        duringLoad = () -> {
+            index.onTaskChanged(TaskChangedEvent.updated(task(120_000L, "Renamed", TaskStatus.PENDING, Priority.MEDIUM)));
+            index.onTaskChanged(TaskChangedEvent.deleted(10L));
+            index.onTaskChanged(TaskChangedEvent.created(task(250_000L, "Report new", TaskStatus.PENDING, Priority.LOW)));
+        };
+        assertFalse(index.isReady());
+
+        index.rebuild();
+
+        assertTrue(index.isReady());
+        assertEquals(5, index.size());
+        // newest first, which after the merge is descending id order
+        assertEquals(List.of(250_000L, 190_000L, 60_000L), ids(index.search("report", null, null, 10)));
+        assertEquals(List.of(120_000L), ids(index.search("renamed", null, null, 10)));
+        assertTrue(index.search("report", null, Priority.HIGH, 10).isEmpty());
+    }
+
+    @Test
+    void compactionDropsRetiredDocumentsAndKeepsLiveOnes() {
+        TaskSearchIndex index = index(12);
+        index.rebuild();
+        create(index, 1L, "Nightly build", TaskStatus.PENDING, null);
+        create(index, 2L, "Release notes", TaskStatus.PENDING, null);
+        for (int i = 0; i < 10_000; i++) {
+            index.onTaskChanged(TaskChangedEvent.updated(task(1L, "Nightly build " + i, TaskStatus.PENDING, null)));
+        }
+        assertEquals(10_000, registry.get("taskfodge.search.index.retired").gauge().value());
+
+        index.compact();
+
+        assertEquals(0, registry.get("taskfodge.search.index.retired").gauge().value());
+        assertEquals(2, index.size());
+        assertEquals(List.of(1L), ids(index.search("nightly 9999", null, null, 10)));
+        assertEquals(List.of(2L), ids(index.search("release", null, null, 10)));
+    }
+
+    private TaskSearchIndex index(int maxGram) {
+        AtomicBoolean loading = new AtomicBoolean();
+        Map<String, Function<Object[], Object>> answers = Map.of(
+                "findMaxId", args -> rows.isEmpty() ? 0L : rows.lastKey(),
+                "streamSearchRows", args -> {
+                    if (loading.compareAndSet(false, true)) {
+                        duringLoad.run();
+                    }
+                    return rows.subMap((Long) args[0], false, (Long) args[1], true).values().stream();
+                });
+        return new TaskSearchIndex(RepositoryStubs.stub(TaskRepository.class, answers),
+                RepositoryStubs.transactionManager(), registry, maxGram, 20_000, 4);
+    }
+
+    private static void create(TaskSearchIndex index, Long id, String title, TaskStatus status, Priority priority) {
+        index.onTaskChanged(TaskChangedEvent.created(task(id, title, status, priority)));
+    }
+
+    private static Task task(Long id, String title, TaskStatus status, Priority priority) {
+        return Task.builder()
+                .id(id)
+                .title(title)
+                .taskStatus(status)
+                .taskPriority(priority)
+                .version(0L)
+                .build();
+    }
+
+    private static List<Long> ids(List<TaskSearchHit> hits) {
+        return hits.stream().map(TaskSearchHit::id).toList();
+    }
+}
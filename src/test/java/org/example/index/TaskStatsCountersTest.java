@@ -0,0 +1,203 @@
+package org.example.index;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.domain.Priority;
+import org.example.domain.Task;
+import org.example.domain.TaskStatus;
+import org.example.domain.User;
+import org.example.dto.TaskStats;
+import org.example.dto.TaskStatsRow;
+import org.example.event.TaskChangedEvent;
+import org.example.reminder.DeadlineReminder;
+import org.example.reminder.ReminderType;
+import org.example.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskStatsCountersTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    // the "database" rebuilds and reconciliation read, by task id
+    private final Map<Long, TaskStatsRow> rows = new TreeMap<>();
+    // runs inside the rebuild's load, after the rows were read
+    private Runnable duringLoad = () -> {
+    };
+    private final TaskStatsCounters counters = new TaskStatsCounters(
+            RepositoryStubs.stub(TaskRepository.class, database()), RepositoryStubs.transactionManager(), registry);
+
+    @Test
+    void reportsEveryStatusAndPriorityIncludingUnsetAtZero() {
+        Map<String, Map<String, Long>> byStatusAndPriority = counters.snapshot().byStatusAndPriority();
+
+        List<String> statuses = new ArrayList<>();
+        for (TaskStatus status : TaskStatus.values()) {
+            statuses.add(status.name());
+        }
+        statuses.add("UNSET");
+        List<String> priorities = new ArrayList<>();
+        for (Priority priority : Priority.values()) {
+            priorities.add(priority.name());
+        }
+        priorities.add("UNSET");
+        assertEquals(statuses, List.copyOf(byStatusAndPriority.keySet()));
+        byStatusAndPriority.values().forEach(row -> {
+            assertEquals(priorities, List.copyOf(row.keySet()));
+            row.values().forEach(count -> assertEquals(0L, count));
+        });
+    }
+
+    @Test
+    void changesMoveTasksBetweenCells() {
+        counters.onTaskChanged(TaskChangedEvent.created(task(1L, TaskStatus.PENDING, Priority.HIGH, 7L, null)));
+        counters.onTaskChanged(TaskChangedEvent.created(task(2L, TaskStatus.PENDING, null, null, null)));
+        counters.onTaskChanged(TaskChangedEvent.created(task(3L, null, Priority.LOW, 7L, null)));
+
+        TaskStats stats = counters.snapshot();
+        assertEquals(3, stats.total());
+        assertEquals(1, stats.unassigned());
+        assertEquals(Map.of(7L, 2L), stats.byAssignee());
+        assertEquals(1, count(stats, "PENDING", "HIGH"));
+        assertEquals(1, count(stats, "PENDING", "UNSET"));
+        assertEquals(1, count(stats, "UNSET", "LOW"));
+
+        counters.onTaskChanged(TaskChangedEvent.updated(task(1L, TaskStatus.COMPLETED, Priority.HIGH, 8L, null)));
+        counters.onTaskChanged(TaskChangedEvent.deleted(3L));
+        // a repeated delivery of a change already applied does not count twice
+        counters.onTaskChanged(TaskChangedEvent.deleted(3L));
+
+        stats = counters.snapshot();
+        assertEquals(2, stats.total());
+        assertEquals(Map.of(8L, 1L), stats.byAssignee());
+        assertEquals(0, count(stats, "PENDING", "HIGH"));
+        assertEquals(1, count(stats, "COMPLETED", "HIGH"));
+        assertEquals(0, count(stats, "UNSET", "LOW"));
+    }
+
+    @Test
+    void openTasksTurnOverdueAtTheirDeadlineOnly() {
+        LocalDateTime passed = LocalDateTime.now().minusHours(1);
+        LocalDateTime soon = LocalDateTime.now().plusSeconds(1);
+        counters.onTaskChanged(TaskChangedEvent.created(task(1L, TaskStatus.PENDING, null, null, passed)));
+        counters.onTaskChanged(TaskChangedEvent.created(task(2L, TaskStatus.COMPLETED, null, null, passed)));
+        counters.onTaskChanged(TaskChangedEvent.created(task(3L, TaskStatus.PENDING, null, null, soon)));
+        assertEquals(1, counters.snapshot().overdue());
+
+        // the milestone of a deadline the task no longer has is ignored, and one milestone counts once
+        counters.onReminder(overdue(task(3L, TaskStatus.PENDING, null, null, soon.minusDays(1))));
+        assertEquals(1, counters.snapshot().overdue());
+        counters.onReminder(overdue(task(3L, TaskStatus.PENDING, null, null, soon)));
+        counters.onReminder(overdue(task(3L, TaskStatus.PENDING, null, null, soon)));
+        assertEquals(2, counters.snapshot().overdue());
+
+        counters.onTaskChanged(TaskChangedEvent.updated(task(1L, TaskStatus.COMPLETED, null, null, passed)));
+        assertEquals(1, counters.snapshot().overdue());
+    }
+
+    @Test
+    void rebuildReplaysChangesCommittedDuringTheLoad() {
+        rows.put(1L, row(1L, TaskStatus.PENDING, Priority.LOW, 7L));
+        rows.put(2L, row(2L, TaskStatus.PENDING, Priority.LOW, 7L));
+        duringLoad = () -> {
+            counters.onTaskChanged(TaskChangedEvent.updated(task(1L, TaskStatus.COMPLETED, Priority.LOW, 7L, null)));
+            counters.onTaskChanged(TaskChangedEvent.deleted(2L));
+            counters.onTaskChanged(TaskChangedEvent.created(task(3L, TaskStatus.PENDING, Priority.HIGH, null, null)));
+        };
+        assertFalse(counters.isReady());
+
+        counters.rebuild();
+
+        assertTrue(counters.isReady());
+        TaskStats stats = counters.snapshot();
+        assertEquals(2, stats.total());
+        assertEquals(1, count(stats, "COMPLETED", "LOW"));
+        assertEquals(0, count(stats, "PENDING", "LOW"));
+        assertEquals(1, count(stats, "PENDING", "HIGH"));
+        assertEquals(Map.of(7L, 1L), stats.byAssignee());
+        assertEquals(1, stats.unassigned());
+    }
+
+    @Test
+    void reconciliationRebuildsOnlyOnDrift() {
+        rows.put(1L, row(1L, TaskStatus.PENDING, Priority.LOW, 7L));
+        counters.rebuild();
+
+        counters.reconcile();
+        assertEquals(0, registry.get("taskfodge.stats.drift").counter().count());
+
+        // a write the counters never heard of
+        rows.put(2L, row(2L, TaskStatus.IN_PROGRESS, Priority.URGENT, null));
+        counters.reconcile();
+
+        assertEquals(1, registry.get("taskfodge.stats.drift").counter().count());
+        TaskStats stats = counters.snapshot();
+        assertEquals(2, stats.total());
+        assertEquals(1, count(stats, "IN_PROGRESS", "URGENT"));
+        assertEquals(1, stats.unassigned());
+    }
+
+    private Map<String, Function<Object[], Object>> database() {
+        return Map.of(
+                "streamStatsRows", args -> {
+                    List<TaskStatsRow> loaded = List.copyOf(rows.values());
+                    duringLoad.run();
+                    return loaded.stream();
+                },
+                "countByStatusAndPriority", args -> {
+                    Map<List<Object>, Long> counts = new HashMap<>();
+                    rows.values().forEach(row -> counts.merge(
+                            Arrays.asList(row.taskStatus(), row.taskPriority()), 1L, Long::sum));
+                    List<Object[]> result = new ArrayList<>();
+                    counts.forEach((key, count) -> result.add(new Object[]{key.get(0), key.get(1), count}));
+                    return result;
+                },
+                "countByAssignee", args -> {
+                    Map<Long, Long> counts = new HashMap<>();
+                    rows.values().forEach(row -> counts.merge(row.assigneeId(), 1L, Long::sum));
+                    List<Object[]> result = new ArrayList<>();
+                    counts.forEach((assignee, count) -> result.add(new Object[]{assignee, count}));
+                    return result;
+                },
+                "countOpenDueBefore", args -> rows.values().stream()
+                        .filter(row -> row.deadline() != null && row.deadline().isBefore((LocalDateTime) args[0]))
+                        .filter(row -> !Objects.equals(row.taskStatus(), TaskStatus.COMPLETED))
+                        .count());
+    }
+
+    private static long count(TaskStats stats, String status, String priority) {
+        return stats.byStatusAndPriority().get(status).get(priority);
+    }
+
+    private static DeadlineReminder overdue(Task task) {
+        return new DeadlineReminder(task, ReminderType.OVERDUE, Instant.now(), Instant.now());
+    }
+
+    private static TaskStatsRow row(Long id, TaskStatus status, Priority priority, Long assigneeId) {
+        return new TaskStatsRow(id, status, priority, assigneeId, null);
+    }
+
+    private static Task task(Long id, TaskStatus status, Priority priority, Long assigneeId, LocalDateTime deadline) {
+        return Task.builder()
+                .id(id)
+                .title("task " + id)
+                .taskStatus(status)
+                .taskPriority(priority)
+                .assignedTo(assigneeId == null ? null : User.builder().id(assigneeId).version(0L).build())
+                .deadline(deadline)
+                .version(0L)
+                .build();
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.index;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.dto.UserIdentity;
+import org.example.index.UserRegistrationFilter.Verdict;
+import org.example.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserRegistrationFilterTest {
+
+    private static final int USERS = 10_000;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final List<UserIdentity> users = new ArrayList<>();
+
+    @Test
+    void everyRegistrationNeedsTheQueryUntilTheFilterIsBuilt() {
+        UserRegistrationFilter filter = filter(true);
+
+        assertEquals(Verdict.UNKNOWN, filter.check("new@example.com", "new"));
+        filter.add("new@example.com", "new");
+        assertEquals(Verdict.UNKNOWN, filter.check("other@example.com", "other"));
+        // the query behind an UNKNOWN verdict never tested the filter, so finding no row is no false positive
+        filter.recordFalsePositive(Verdict.UNKNOWN);
+        assertEquals(0, registry.get("taskfodge.user.bloom.false.positives").functionCounter().count());
+    }
+
+    @Test
+    void registeredValuesAreNeverReportedNew() {
+        for (long id = 1; id <= USERS; id++) {
+            users.add(new UserIdentity(id, "user" + id + "@example.com", "user" + id));
+        }
+        UserRegistrationFilter filter = filter(true);
+        filter.rebuild();
+
+        for (UserIdentity user : users) {
+            assertEquals(Verdict.MIGHT_EXIST, filter.check(user.email(), "unused-" + user.id()));
+            assertEquals(Verdict.MIGHT_EXIST, filter.check("unused-" + user.id() + "@example.com", user.userName()));
+        }
+        filter.add("late@example.com", "late");
+        assertEquals(Verdict.MIGHT_EXIST, filter.check("late@example.com", "late"));
+    }
+
+    @Test
+    void unknownValuesAreMostlyProvedNew() {
+        for (long id = 1; id <= USERS; id++) {
+            users.add(new UserIdentity(id, "user" + id + "@example.com", "user" + id));
+        }
+        UserRegistrationFilter filter = filter(true);
+        filter.rebuild();
+
+        int checks = 20_000;
+        int hits = 0;
+        for (int i = 0; i < checks; i++) {
+            if (filter.check("new" + i + "@example.com", "new" + i) == Verdict.MIGHT_EXIST) {
+                hits++;
+                filter.recordFalsePositive(Verdict.MIGHT_EXIST);
+            }
+        }
+        // sized for 1% per value; a registration checks two values, so about 2% of them hit
+        double rate = (double) hits / checks;
+        assertTrue(rate < 0.04, "false positive rate " + rate);
+        assertEquals(checks - hits, registry.get("taskfodge.user.bloom.checks").tag("outcome", "skipped")
+                .functionCounter().count());
+        assertEquals(rate, registry.get("taskfodge.user.bloom.false.positive.rate").gauge().value(), 1e-9);
+    }
+
+    @Test
+    void disabledFilterNeverLoadsAndNeverSkipsTheQuery() {
+        // the stubbed repository answers nothing, so a rebuild that queried it would throw
+        UserRegistrationFilter filter = filter(false);
+        filter.rebuild();
+
+        assertEquals(Verdict.UNKNOWN, filter.check("new@example.com", "new"));
+    }
+
+    private UserRegistrationFilter filter(boolean enabled) {
+        Map<String, Function<Object[], Object>> answers = enabled
+                ? Map.of("count", args -> (long) users.size(), "streamIdentities", args -> users.stream())
+                : Map.of();
+        return new UserRegistrationFilter(RepositoryStubs.stub(UserRepository.class, answers),
+                RepositoryStubs.transactionManager(), registry, enabled, USERS, 0.01);
+    }
+}
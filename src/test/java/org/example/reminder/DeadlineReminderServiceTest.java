@@ -0,0 +1,101 @@
+package org.example.reminder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.domain.Task;
+import org.example.domain.TaskStatus;
+import org.example.event.TaskChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeadlineReminderServiceTest {
+
+    private final List<DeadlineReminder> reminders = Collections.synchronizedList(new ArrayList<>());
+    private DeadlineReminderService service;
+
+    @BeforeEach
+    void setUp() {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("listener", (DeadlineReminderListener) reminders::add);
+        // no repository or transactions: recover() is never called, timers come from change events only
+        service = new DeadlineReminderService(null, null, beans.getBeanProvider(DeadlineReminderListener.class),
+                new SimpleMeterRegistry(), 10, 8, 1);
+        service.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        service.stop();
+    }
+
+    @Test
+    void overdueFiresOncePerDeadline() throws InterruptedException {
+        LocalDateTime deadline = LocalDateTime.now().minusMinutes(5);
+        service.onTaskChanged(TaskChangedEvent.updated(task(deadline, TaskStatus.IN_PROGRESS, "a")));
+        awaitReminders(1);
+
+        // further changes to the still open task, e.g. a stream of write-behind status updates
+        for (int i = 0; i < 5; i++) {
+            service.onTaskChanged(TaskChangedEvent.updated(task(deadline, TaskStatus.IN_PROGRESS, "b" + i)));
+        }
+        Thread.sleep(200);
+        assertEquals(1, reminders.size());
+        assertEquals(0, service.pendingTimers());
+
+        // a new deadline re-arms it
+        LocalDateTime postponed = LocalDateTime.now().minusMinutes(1);
+        service.onTaskChanged(TaskChangedEvent.updated(task(postponed, TaskStatus.IN_PROGRESS, "c")));
+        awaitReminders(2);
+        assertEquals(List.of(ReminderType.OVERDUE, ReminderType.OVERDUE), reminders.stream().map(DeadlineReminder::type).toList());
+        assertEquals(postponed, reminders.get(1).task().getDeadline());
+    }
+
+    @Test
+    void completingAndReopeningForgetsTheOverdueMarker() throws InterruptedException {
+        LocalDateTime deadline = LocalDateTime.now().minusMinutes(5);
+        service.onTaskChanged(TaskChangedEvent.updated(task(deadline, TaskStatus.IN_PROGRESS, "a")));
+        awaitReminders(1);
+
+        service.onTaskChanged(TaskChangedEvent.updated(task(deadline, TaskStatus.COMPLETED, "a")));
+        service.onTaskChanged(TaskChangedEvent.updated(task(deadline, TaskStatus.IN_PROGRESS, "a")));
+        awaitReminders(2);
+    }
+
+    @Test
+    void futureDeadlineSchedulesRemindersAndDeleteCancelsThem() throws InterruptedException {
+        service.onTaskChanged(TaskChangedEvent.updated(task(LocalDateTime.now().plusDays(2), TaskStatus.PENDING, "a")));
+        assertEquals(ReminderType.values().length, service.pendingTimers());
+
+        service.onTaskChanged(TaskChangedEvent.deleted(1L));
+        assertEquals(0, service.pendingTimers());
+        Thread.sleep(100);
+        assertTrue(reminders.isEmpty());
+    }
+
+    private void awaitReminders(int count) throws InterruptedException {
+        long giveUp = System.currentTimeMillis() + 5_000;
+        while (reminders.size() < count) {
+            assertTrue(System.currentTimeMillis() < giveUp, "expected " + count + " reminders, got " + reminders);
+            Thread.sleep(10);
+        }
+    }
+
+    private static Task task(LocalDateTime deadline, TaskStatus status, String title) {
+        return Task.builder()
+                .id(1L)
+                .title(title)
+                .taskStatus(status)
+                .deadline(deadline)
+                .version(0L)
+                .build();
+    }
+}
@@ -0,0 +1,137 @@
+package org.example.reminder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HierarchicalTimingWheelTest {
+
+    // 10 ms ticks and 4 slots: the first wheel spans 40 ms, overflow wheels 160 ms and 640 ms
+    private static final long TICK_MS = 10;
+    private static final int WHEEL_SIZE = 4;
+
+    // actions run on the thread driving the clock, so the order they ran in is the order they fired in
+    private final HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(TICK_MS, WHEEL_SIZE, Runnable::run);
+    private final List<String> fired = Collections.synchronizedList(new ArrayList<>());
+
+    @Test
+    void firesInExpirationOrderAcrossOverflowWheels() throws InterruptedException {
+        long now = System.currentTimeMillis();
+        long[] delays = {600, 30, 150, 90};
+        List<Long> firedAt = Collections.synchronizedList(new ArrayList<>());
+        for (long delay : delays) {
+            long expiration = now + delay;
+            wheel.schedule(expiration, () -> {
+                firedAt.add(System.currentTimeMillis() - expiration);
+                fired.add("t" + delay);
+            });
+        }
+        assertEquals(4, wheel.size());
+
+        advanceUntil(() -> fired.size() == 4);
+
+        assertEquals(List.of("t30", "t90", "t150", "t600"), fired);
+        // buckets expire on tick boundaries, so an entry may run up to one tick before its expiration
+        firedAt.forEach(early -> assertTrue(early >= -TICK_MS, "fired " + -early + " ms early"));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void firesEveryEntryOfACrowdedBucket() throws InterruptedException {
+        long expiration = System.currentTimeMillis() + 50;
+        AtomicInteger runs = new AtomicInteger();
+        for (int i = 0; i < 1_000; i++) {
+            wheel.schedule(expiration, runs::incrementAndGet);
+        }
+        assertEquals(1_000, wheel.size());
+
+        advanceUntil(() -> runs.get() == 1_000);
+
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cancelledEntriesNeverRun() throws InterruptedException {
+        long now = System.currentTimeMillis();
+        TimerTaskEntry near = wheel.schedule(now + 30, () -> fired.add("near"));
+        // far enough to sit in an overflow wheel when cancelled
+        TimerTaskEntry far = wheel.schedule(now + 300, () -> fired.add("far"));
+        wheel.schedule(now + 350, () -> fired.add("kept"));
+
+        near.cancel();
+        far.cancel();
+        assertEquals(1, wheel.size());
+        assertTrue(near.isCancelled());
+
+        advanceUntil(() -> fired.contains("kept"));
+
+        assertEquals(List.of("kept"), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cancelAfterCascadingDownFromOverflowWheel() throws InterruptedException {
+        long now = System.currentTimeMillis();
+        TimerTaskEntry late = wheel.schedule(now + 250, () -> fired.add("late"));
+        wheel.schedule(now + 200, () -> fired.add("marker"));
+
+        // by now the late entry has moved out of the overflow wheel into a finer bucket
+        advanceUntil(() -> fired.contains("marker"));
+        late.cancel();
+        assertEquals(0, wheel.size());
+
+        advanceFor(150);
+        assertEquals(List.of("marker"), fired);
+    }
+
+    @Test
+    void reschedulingMovesTheReminder() throws InterruptedException {
+        long now = System.currentTimeMillis();
+        // the way DeadlineReminderService handles a changed deadline: cancel the old entry, schedule a new one
+        TimerTaskEntry original = wheel.schedule(now + 400, () -> fired.add("original"));
+        original.cancel();
+        wheel.schedule(now + 60, () -> fired.add("earlier"));
+
+        TimerTaskEntry postponed = wheel.schedule(now + 40, () -> fired.add("postponed-original"));
+        postponed.cancel();
+        long later = now + 200;
+        wheel.schedule(later, () -> fired.add("postponed"));
+
+        advanceUntil(() -> fired.contains("postponed"));
+        assertTrue(System.currentTimeMillis() >= later - TICK_MS);
+
+        advanceFor(300);
+        assertEquals(List.of("earlier", "postponed"), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void dueOrPastExpirationRunsImmediately() {
+        wheel.schedule(System.currentTimeMillis() - 1_000, () -> fired.add("overdue"));
+
+        assertEquals(List.of("overdue"), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    private void advanceUntil(BooleanSupplier done) throws InterruptedException {
+        long giveUp = System.currentTimeMillis() + 5_000;
+        while (!done.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < giveUp, "timed out, fired so far: " + fired);
+            wheel.advanceClock(20);
+        }
+    }
+
+    private void advanceFor(long millis) throws InterruptedException {
+        long until = System.currentTimeMillis() + millis;
+        while (System.currentTimeMillis() < until) {
+            wheel.advanceClock(20);
+        }
+    }
+}